@@ -0,0 +1,94 @@
+package de.cronn.reflection.util;
+
+import java.beans.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * The properties of a class that are annotated with a given annotation, for example to mask or
+ * audit all {@code @Sensitive} properties of a bean in a single loop.
+ *
+ * <p>The properties, their annotations and the method handles to access them are resolved once per
+ * class and annotation type.
+ */
+public final class AnnotatedProperties<T, A extends Annotation> {
+
+  private final Class<T> type;
+  private final Class<A> annotationType;
+  private final PropertyDescriptor[] propertyDescriptors;
+  private final PropertyAccessor[] accessors;
+  private final List<A> annotations;
+
+  AnnotatedProperties(
+      Class<T> type, Class<A> annotationType, Map<PropertyDescriptor, A> annotatedProperties) {
+    this.type = type;
+    this.annotationType = annotationType;
+    this.propertyDescriptors = annotatedProperties.keySet().toArray(new PropertyDescriptor[0]);
+    this.accessors =
+        Arrays.stream(propertyDescriptors)
+            .map(PropertyAccessor::new)
+            .toArray(PropertyAccessor[]::new);
+    this.annotations = List.copyOf(annotatedProperties.values());
+  }
+
+  public static <T, A extends Annotation> AnnotatedProperties<T, A> of(
+      Class<T> type, Class<A> annotationType) {
+    return PropertyUtils.getCache(type).getAnnotatedProperties(annotationType);
+  }
+
+  public void readAll(T bean, BiConsumer<? super A, Object> consumer) {
+    Assert.notNull(bean, () -> "Bean must not be null");
+    for (int i = 0; i < accessors.length; i++) {
+      consumer.accept(annotations.get(i), accessors[i].read(bean));
+    }
+  }
+
+  /**
+   * Replaces the value of each annotated property by the result of the given function, which is
+   * called with the annotation and the current value of the property.
+   */
+  public void writeAll(T bean, BiFunction<? super A, Object, Object> valueFunction) {
+    Assert.notNull(bean, () -> "Bean must not be null");
+    for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
+      Assert.isTrue(
+          PropertyUtils.isWritable(propertyDescriptor),
+          () ->
+              PropertyUtils.getQualifiedPropertyName(type, propertyDescriptor)
+                  + " is not writable");
+    }
+    for (int i = 0; i < accessors.length; i++) {
+      Object value = valueFunction.apply(annotations.get(i), accessors[i].read(bean));
+      accessors[i].write(bean, value);
+    }
+  }
+
+  public Class<T> getType() {
+    return type;
+  }
+
+  public Class<A> getAnnotationType() {
+    return annotationType;
+  }
+
+  public List<PropertyDescriptor> getPropertyDescriptors() {
+    return Collections.unmodifiableList(Arrays.asList(propertyDescriptors));
+  }
+
+  public List<A> getAnnotations() {
+    return annotations;
+  }
+
+  @Override
+  public String toString() {
+    return "AnnotatedProperties["
+        + type.getSimpleName()
+        + " @"
+        + annotationType.getSimpleName()
+        + "]";
+  }
+}
@@ -0,0 +1,351 @@
+package de.cronn.reflection.util;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Copies the properties of a source bean to the properties of the same name of a target bean of a
+ * different class.
+ *
+ * <p>The matching properties, the method handles of their accessors and the default constructor of
+ * the target class are resolved once, when the mapper is created. Properties are matched if the
+ * source value can be assigned to the target property directly or by boxing, unboxing or primitive
+ * widening. Other properties are not mapped, unless they are renamed explicitly. {@code null}
+ * values are not written to primitive target properties. Values of primitive properties that are
+ * mapped to primitive properties are copied without boxing them.
+ */
+public final class BeanMapper<S, T> {
+
+  private static final Map<Class<?>, Class<?>> wrapperTypes =
+      Map.of(
+          boolean.class, Boolean.class,
+          byte.class, Byte.class,
+          short.class, Short.class,
+          char.class, Character.class,
+          int.class, Integer.class,
+          long.class, Long.class,
+          float.class, Float.class,
+          double.class, Double.class);
+
+  private static final List<Class<?>> wideningOrder =
+      List.of(byte.class, short.class, int.class, long.class, float.class, double.class);
+
+  private final Class<S> sourceType;
+  private final Class<T> targetType;
+  private final Map<String, String> sourcePropertyNamesByTargetName;
+  private final List<PropertyMapping> propertyMappings;
+  private final Constructor<T> targetConstructor;
+
+  private BeanMapper(
+      Class<S> sourceType,
+      Class<T> targetType,
+      Map<String, String> sourcePropertyNamesByTargetName) {
+    this.sourceType = sourceType;
+    this.targetType = targetType;
+    this.sourcePropertyNamesByTargetName = sourcePropertyNamesByTargetName;
+    this.propertyMappings = resolvePropertyMappings();
+    this.targetConstructor = findDefaultConstructor(targetType);
+  }
+
+  private static <T> Constructor<T> findDefaultConstructor(Class<T> type) {
+    Constructor<T> constructor;
+    try {
+      constructor = type.getDeclaredConstructor();
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+    // the constructor is a copy owned by this mapper. it is made accessible once, since toggling
+    // the flag per call would race between concurrent mappings
+    constructor.trySetAccessible();
+    return constructor;
+  }
+
+  public static <S, T> BeanMapper<S, T> of(Class<S> sourceType, Class<T> targetType) {
+    return new BeanMapper<>(sourceType, targetType, Map.of());
+  }
+
+  public BeanMapper<S, T> withRename(String sourcePropertyName, String targetPropertyName) {
+    PropertyUtils.getPropertyDescriptorByNameOrThrow(sourceType, sourcePropertyName);
+    PropertyUtils.getPropertyDescriptorByNameOrThrow(targetType, targetPropertyName);
+    Map<String, String> renames = new LinkedHashMap<>(sourcePropertyNamesByTargetName);
+    renames.put(targetPropertyName, sourcePropertyName);
+    return new BeanMapper<>(sourceType, targetType, Collections.unmodifiableMap(renames));
+  }
+
+  public BeanMapper<S, T> withRename(
+      TypedPropertyGetter<S, ?> sourceProperty, TypedPropertyGetter<T, ?> targetProperty) {
+    return withRename(
+        PropertyUtils.getPropertyName(sourceType, sourceProperty),
+        PropertyUtils.getPropertyName(targetType, targetProperty));
+  }
+
+  private List<PropertyMapping> resolvePropertyMappings() {
+    List<PropertyMapping> mappings = new ArrayList<>();
+    for (PropertyDescriptor targetProperty : PropertyUtils.getPropertyDescriptors(targetType)) {
+      if (!PropertyUtils.isWritable(targetProperty)) {
+        continue;
+      }
+      String targetPropertyName = targetProperty.getName();
+      String renamedSourcePropertyName = sourcePropertyNamesByTargetName.get(targetPropertyName);
+      String sourcePropertyName =
+          renamedSourcePropertyName != null ? renamedSourcePropertyName : targetPropertyName;
+      PropertyDescriptor sourceProperty =
+          PropertyUtils.getPropertyDescriptorByName(sourceType, sourcePropertyName);
+      if (sourceProperty == null || !PropertyUtils.isReadable(sourceProperty)) {
+        continue;
+      }
+      Function<Object, Object> converter =
+          findConverter(sourceProperty.getPropertyType(), targetProperty.getPropertyType());
+      if (converter == null) {
+        Assert.isNull(
+            renamedSourcePropertyName,
+            () ->
+                String.format(
+                    "Cannot map %s of type %s to %s of type %s",
+                    PropertyUtils.getQualifiedPropertyName(sourceType, sourceProperty),
+                    sourceProperty.getPropertyType().getName(),
+                    PropertyUtils.getQualifiedPropertyName(targetType, targetProperty),
+                    targetProperty.getPropertyType().getName()));
+        continue;
+      }
+      mappings.add(
+          new PropertyMapping(
+              PropertyUtils.getQualifiedPropertyName(sourceType, sourceProperty),
+              sourceProperty,
+              PropertyUtils.getQualifiedPropertyName(targetType, targetProperty),
+              targetProperty,
+              converter));
+    }
+    return List.copyOf(mappings);
+  }
+
+  private static Function<Object, Object> findConverter(Class<?> sourceType, Class<?> targetType) {
+    if (targetType.isAssignableFrom(sourceType)) {
+      return Function.identity();
+    }
+    Class<?> sourcePrimitiveType = toPrimitiveType(sourceType);
+    Class<?> targetPrimitiveType = toPrimitiveType(targetType);
+    if (sourcePrimitiveType == null || targetPrimitiveType == null) {
+      return null;
+    }
+    if (sourcePrimitiveType.equals(targetPrimitiveType)) {
+      // boxing or unboxing
+      return Function.identity();
+    }
+    if (!isWideningConversion(sourcePrimitiveType, targetPrimitiveType)) {
+      return null;
+    }
+    return value -> value != null ? widen(value, targetPrimitiveType) : null;
+  }
+
+  private static Class<?> toPrimitiveType(Class<?> type) {
+    if (type.isPrimitive()) {
+      return type;
+    }
+    for (Map.Entry<Class<?>, Class<?>> entry : wrapperTypes.entrySet()) {
+      if (entry.getValue().equals(type)) {
+        return entry.getKey();
+      }
+    }
+    return null;
+  }
+
+  private static boolean isWideningConversion(Class<?> sourceType, Class<?> targetType) {
+    int targetIndex = wideningOrder.indexOf(targetType);
+    if (sourceType.equals(char.class)) {
+      return targetIndex >= wideningOrder.indexOf(int.class);
+    }
+    int sourceIndex = wideningOrder.indexOf(sourceType);
+    return sourceIndex >= 0 && targetIndex > sourceIndex;
+  }
+
+  private static Object widen(Object value, Class<?> targetPrimitiveType) {
+    Number number =
+        value instanceof Character character
+            ? Integer.valueOf(character.charValue())
+            : (Number) value;
+    if (targetPrimitiveType.equals(short.class)) {
+      return Short.valueOf(number.shortValue());
+    } else if (targetPrimitiveType.equals(int.class)) {
+      return Integer.valueOf(number.intValue());
+    } else if (targetPrimitiveType.equals(long.class)) {
+      return Long.valueOf(number.longValue());
+    } else if (targetPrimitiveType.equals(float.class)) {
+      return Float.valueOf(number.floatValue());
+    } else if (targetPrimitiveType.equals(double.class)) {
+      return Double.valueOf(number.doubleValue());
+    } else {
+      throw new IllegalArgumentException("Unhandled primitive type: " + targetPrimitiveType);
+    }
+  }
+
+  public T map(S source) {
+    if (source == null) {
+      return null;
+    }
+    Assert.notNull(targetConstructor, () -> targetType + " has no default constructor");
+    T target;
+    try {
+      target = targetConstructor.newInstance();
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      throw new ReflectionRuntimeException("Failed to construct an instance of " + targetType, e);
+    }
+    map(source, target);
+    return target;
+  }
+
+  public void map(S source, T target) {
+    Assert.notNull(source, () -> "Source must not be null");
+    Assert.notNull(target, () -> "Target must not be null");
+    for (PropertyMapping propertyMapping : propertyMappings) {
+      propertyMapping.map(source, target);
+    }
+  }
+
+  public List<T> mapAll(List<? extends S> sources) {
+    return mapAll(sources, false);
+  }
+
+  public List<T> mapAll(List<? extends S> sources, boolean parallel) {
+    Stream<? extends S> stream = parallel ? sources.parallelStream() : sources.stream();
+    return stream.map(this::map).collect(Collectors.toList());
+  }
+
+  public Class<S> getSourceType() {
+    return sourceType;
+  }
+
+  public Class<T> getTargetType() {
+    return targetType;
+  }
+
+  public Map<String, String> getMappedPropertyNames() {
+    Map<String, String> mappedPropertyNames = new LinkedHashMap<>();
+    for (PropertyMapping propertyMapping : propertyMappings) {
+      mappedPropertyNames.put(
+          propertyMapping.sourcePropertyName, propertyMapping.targetPropertyName);
+    }
+    return Collections.unmodifiableMap(mappedPropertyNames);
+  }
+
+  @Override
+  public String toString() {
+    return "BeanMapper[" + sourceType.getSimpleName() + " -> " + targetType.getSimpleName() + "]";
+  }
+
+  private static final class PropertyMapping {
+
+    private static final MethodType READER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType WRITER_TYPE =
+        MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final String sourcePropertyName;
+    private final String targetPropertyName;
+    private final String qualifiedSourcePropertyName;
+    private final String qualifiedTargetPropertyName;
+    private final MethodHandle reader;
+    private final MethodHandle writer;
+    private final MethodHandle primitiveCopier;
+    private final Function<Object, Object> converter;
+    private final boolean primitiveTarget;
+
+    private PropertyMapping(
+        String qualifiedSourcePropertyName,
+        PropertyDescriptor sourceProperty,
+        String qualifiedTargetPropertyName,
+        PropertyDescriptor targetProperty,
+        Function<Object, Object> converter) {
+      this.sourcePropertyName = sourceProperty.getName();
+      this.targetPropertyName = targetProperty.getName();
+      this.qualifiedSourcePropertyName = qualifiedSourcePropertyName;
+      this.qualifiedTargetPropertyName = qualifiedTargetPropertyName;
+      this.converter = converter;
+      this.primitiveTarget = targetProperty.getPropertyType().isPrimitive();
+      if (sourceProperty.getPropertyType().isPrimitive() && primitiveTarget) {
+        this.reader = null;
+        this.writer = null;
+        this.primitiveCopier = createPrimitiveCopier(sourceProperty, targetProperty);
+      } else {
+        this.reader = unreflect(sourceProperty.getReadMethod(), READER_TYPE);
+        this.writer = unreflect(targetProperty.getWriteMethod(), WRITER_TYPE);
+        this.primitiveCopier = null;
+      }
+    }
+
+    /**
+     * Creates a {@code (Object source, Object target)void} handle that passes the primitive value
+     * of the getter to the setter, widened to the target type by {@link MethodHandle#asType}.
+     */
+    private static MethodHandle createPrimitiveCopier(
+        PropertyDescriptor sourceProperty, PropertyDescriptor targetProperty) {
+      Class<?> targetPropertyType = targetProperty.getPropertyType();
+      MethodHandle primitiveReader =
+          unreflect(
+              sourceProperty.getReadMethod(),
+              MethodType.methodType(targetPropertyType, Object.class));
+      MethodHandle primitiveWriter =
+          unreflect(
+              targetProperty.getWriteMethod(),
+              MethodType.methodType(void.class, Object.class, targetPropertyType));
+      MethodHandle copier = MethodHandles.filterArguments(primitiveWriter, 1, primitiveReader);
+      return MethodHandles.permuteArguments(copier, WRITER_TYPE, 1, 0);
+    }
+
+    private static MethodHandle unreflect(Method method, MethodType methodType) {
+      try {
+        return MethodHandles.lookup().unreflect(method).asType(methodType);
+      } catch (IllegalAccessException e) {
+        throw new ReflectionRuntimeException("Failed to access " + method, e);
+      }
+    }
+
+    private void map(Object source, Object target) {
+      if (primitiveCopier != null) {
+        copyPrimitive(source, target);
+        return;
+      }
+      Object value;
+      try {
+        value = (Object) reader.invokeExact(source);
+      } catch (Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new ReflectionRuntimeException("Failed to read " + qualifiedSourcePropertyName, e);
+      }
+      if (value == null && primitiveTarget) {
+        return;
+      }
+      try {
+        writer.invokeExact(target, converter.apply(value));
+      } catch (Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new ReflectionRuntimeException("Failed to write " + qualifiedTargetPropertyName, e);
+      }
+    }
+
+    private void copyPrimitive(Object source, Object target) {
+      try {
+        primitiveCopier.invokeExact(source, target);
+      } catch (Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new ReflectionRuntimeException(
+            "Failed to map " + qualifiedSourcePropertyName + " to " + qualifiedTargetPropertyName,
+            e);
+      }
+    }
+  }
+}
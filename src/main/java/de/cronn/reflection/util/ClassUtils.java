@@ -1,17 +1,26 @@
 package de.cronn.reflection.util;
 
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.jetbrains.annotations.NotNull;
 
 public final class ClassUtils {
@@ -21,8 +30,19 @@ public final class ClassUtils {
   private static final String HIBERNATE_OLD_PROXY_CLASS_SEPARATOR = "$HibernateProxy$";
   private static final String HIBERNATE_NEW_PROXY_CLASS_SUFFIX = "$HibernateProxy";
 
+  private static final ClassValue<Set<Method>> allDeclaredMethodsCache =
+      ClassValues.create(ClassUtils::collectAllDeclaredMethods);
+
   private static final ClassValue<Set<MethodSignature>> methodsSignaturesCache =
-      ClassValues.create(ClassUtils::getAllDeclaredMethodSignatures);
+      ClassValues.create(clazz -> Set.copyOf(getAllDeclaredMethodSignatures(clazz)));
+
+  private static final Logger logger = System.getLogger(ClassUtils.class.getName());
+
+  private static final List<ProxyDetector> proxyDetectors =
+      new CopyOnWriteArrayList<>(loadProxyDetectors());
+
+  private static volatile ClassValue<Boolean> proxyClassCache = createProxyClassCache();
+  private static volatile ClassValue<Class<?>> realClassCache = createRealClassCache();
 
   private ClassUtils() {}
 
@@ -40,22 +60,71 @@ public final class ClassUtils {
   }
 
   public static <T> Class<T> getRealClass(Class<T> clazz) {
+    @SuppressWarnings("unchecked")
+    Class<T> realClass = (Class<T>) realClassCache.get(clazz);
+    return realClass;
+  }
+
+  private static Class<?> determineRealClass(Class<?> clazz) {
     if (isProxyClass(clazz)) {
       if (Proxy.isProxyClass(clazz)) {
         Class<?>[] interfaces = clazz.getInterfaces();
         Assert.isTrue(
             interfaces.length == 1, () -> "Unexpected number of interfaces: " + interfaces.length);
-        @SuppressWarnings("unchecked")
-        Class<T> proxiedInterface = (Class<T>) interfaces[0];
-        return proxiedInterface;
+        return interfaces[0];
       }
-      @SuppressWarnings("unchecked")
-      Class<T> superclass = (Class<T>) clazz.getSuperclass();
-      return getRealClass(superclass);
+      return getRealClass(clazz.getSuperclass());
     }
     return clazz;
   }
 
+  public static void registerProxyDetector(ProxyDetector proxyDetector) {
+    Objects.requireNonNull(proxyDetector);
+    proxyDetectors.add(proxyDetector);
+    proxyClassCache = createProxyClassCache();
+    realClassCache = createRealClassCache();
+  }
+
+  public static void unregisterProxyDetector(ProxyDetector proxyDetector) {
+    Objects.requireNonNull(proxyDetector);
+    if (proxyDetectors.remove(proxyDetector)) {
+      proxyClassCache = createProxyClassCache();
+      realClassCache = createRealClassCache();
+    }
+  }
+
+  private static List<ProxyDetector> loadProxyDetectors() {
+    List<ProxyDetector> detectors = new ArrayList<>();
+    Iterator<ProxyDetector> iterator =
+        ServiceLoader.load(ProxyDetector.class, ClassUtils.class.getClassLoader()).iterator();
+    while (true) {
+      try {
+        if (!iterator.hasNext()) {
+          return detectors;
+        }
+      } catch (ServiceConfigurationError e) {
+        // the provider configuration cannot be read. the iterator may fail the same way on every
+        // call, so the remaining providers are not loaded
+        logger.log(Level.WARNING, "Failed to look up further proxy detectors", e);
+        return detectors;
+      }
+      try {
+        detectors.add(iterator.next());
+      } catch (ServiceConfigurationError e) {
+        // a broken provider is skipped, it must not prevent ClassUtils from being initialized
+        logger.log(Level.WARNING, "Skipping proxy detector that failed to load", e);
+      }
+    }
+  }
+
+  private static ClassValue<Boolean> createProxyClassCache() {
+    return ClassValues.create(ClassUtils::determineProxyClass);
+  }
+
+  private static ClassValue<Class<?>> createRealClassCache() {
+    return ClassValues.create(ClassUtils::determineRealClass);
+  }
+
   public static <T> T createNewInstanceLike(T source) {
     if (source == null) {
       return null;
@@ -161,12 +230,24 @@ public final class ClassUtils {
     if (clazz == null) {
       return false;
     }
+    return proxyClassCache.get(clazz).booleanValue();
+  }
 
+  private static boolean determineProxyClass(Class<?> clazz) {
     if (Proxy.isProxyClass(clazz)) {
       return true;
     }
 
-    return matchesWellKnownProxyClassNamePattern(clazz.getName());
+    if (matchesWellKnownProxyClassNamePattern(clazz.getName())) {
+      return true;
+    }
+
+    for (ProxyDetector proxyDetector : proxyDetectors) {
+      if (proxyDetector.isProxyClass(clazz)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   static boolean matchesWellKnownProxyClassNamePattern(String className) {
@@ -177,81 +258,58 @@ public final class ClassUtils {
   }
 
   public static boolean haveSameSignature(Method oneMethod, Method otherMethod) {
-    return new MethodSignature(oneMethod).equals(new MethodSignature(otherMethod));
+    return MethodSignature.of(oneMethod).equals(MethodSignature.of(otherMethod));
   }
 
   public static List<Method> findMethodsByArgumentTypes(
       Class<?> classToSearchIn, Class<?>... argumentTypes) {
-    return Stream.of(classToSearchIn.getMethods())
-        .filter(method -> Arrays.equals(method.getParameterTypes(), argumentTypes))
-        .collect(Collectors.toList());
+    return MethodArgumentTypeIndex.findMethods(classToSearchIn, argumentTypes);
+  }
+
+  public static Method findMostSpecificMethodByArgumentTypes(
+      Class<?> classToSearchIn, Class<?>... argumentTypes) {
+    return MethodArgumentTypeIndex.findMostSpecificMethod(classToSearchIn, argumentTypes);
   }
 
   public static boolean hasMethodWithSameSignature(Class<?> clazz, Method method) {
     Set<MethodSignature> methods = methodsSignaturesCache.get(clazz);
-    return methods.contains(new MethodSignature(method));
+    return methods.contains(MethodSignature.of(method));
   }
 
   public static Set<Method> getAllDeclaredMethods(Class<?> clazz) {
+    return allDeclaredMethodsCache.get(clazz);
+  }
+
+  private static Set<Method> collectAllDeclaredMethods(Class<?> clazz) {
     Set<Method> methods = new LinkedHashSet<>(Arrays.asList(clazz.getDeclaredMethods()));
     if (clazz.getSuperclass() != null && !clazz.getSuperclass().equals(Object.class)) {
-      methods.addAll(getAllDeclaredMethods(clazz.getSuperclass()));
+      methods.addAll(allDeclaredMethodsCache.get(clazz.getSuperclass()));
     }
     for (Class<?> interfaceClass : clazz.getInterfaces()) {
-      methods.addAll(getAllDeclaredMethods(interfaceClass));
+      methods.addAll(allDeclaredMethodsCache.get(interfaceClass));
     }
     return Collections.unmodifiableSet(methods);
   }
 
   public static Set<MethodSignature> getAllDeclaredMethodSignatures(Class<?> clazz) {
     return getAllDeclaredMethods(clazz).stream()
-        .map(MethodSignature::new)
+        .map(MethodSignature::of)
         .collect(Collectors.toCollection(TreeSet::new));
   }
 
   public static <A extends Annotation> A findAnnotation(Method method, Class<A> annotationType) {
-    A annotation = method.getAnnotation(annotationType);
-    if (annotation != null) {
-      return annotation;
-    }
-    return findAnnotation(method.getDeclaringClass(), method, annotationType);
+    return MethodAnnotationIndex.findAnnotation(method, annotationType);
   }
 
-  private static <A extends Annotation> A findAnnotation(
-      Class<?> declaringClass, Method method, Class<A> annotationType) {
-    if (declaringClass == null || declaringClass.equals(Object.class)) {
-      return null;
-    }
-    if (declaringClass.getSuperclass() != null) {
-      for (Method methodCandidate : declaringClass.getSuperclass().getMethods()) {
-        if (isOverride(method, methodCandidate)) {
-          A annotation = findAnnotation(methodCandidate, annotationType);
-          if (annotation != null) {
-            return annotation;
-          }
-        }
-      }
-    }
-    for (Class<?> interfaceClass : declaringClass.getInterfaces()) {
-      for (Method methodCandidate : interfaceClass.getDeclaredMethods()) {
-        if (isOverride(method, methodCandidate)) {
-          A annotation = findAnnotation(methodCandidate, annotationType);
-          if (annotation != null) {
-            return annotation;
-          }
-        }
-      }
-      A annotation = findAnnotation(interfaceClass, method, annotationType);
+  public static <A extends Annotation> Map<Method, A> findAnnotations(
+      Class<?> clazz, Class<A> annotationType) {
+    Map<Method, A> annotatedMethods = new LinkedHashMap<>();
+    for (Method method : getAllDeclaredMethods(clazz)) {
+      A annotation = findAnnotation(method, annotationType);
       if (annotation != null) {
-        return annotation;
+        annotatedMethods.put(method, annotation);
       }
     }
-    return findAnnotation(declaringClass.getSuperclass(), method, annotationType);
-  }
-
-  private static boolean isOverride(Method method, Method candidate) {
-    return method.getName().equals(candidate.getName())
-        && candidate.getParameterCount() == method.getParameterCount()
-        && Arrays.equals(candidate.getParameterTypes(), method.getParameterTypes());
+    return Collections.unmodifiableMap(annotatedMethods);
   }
 }
@@ -1,17 +1,115 @@
 package de.cronn.reflection.util;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public final class ClassValues {
 
+  private static final Set<ClassValue<?>> classValues = newWeakSet();
+  private static final Set<Class<?>> computedTypes = newWeakSet();
+
   private ClassValues() {}
 
   public static <T> ClassValue<T> create(Function<Class<?>, T> mapper) {
-    return new ClassValue<>() {
-      @Override
-      protected T computeValue(Class<?> type) {
-        return mapper.apply(type);
+    ClassValue<T> classValue =
+        new ClassValue<>() {
+          @Override
+          protected T computeValue(Class<?> type) {
+            computedTypes.add(type);
+            return mapper.apply(type);
+          }
+        };
+    classValues.add(classValue);
+    return classValue;
+  }
+
+  /**
+   * Like {@link #create(Function)}, but the mapper is called at most once per class, even if
+   * several threads request the value of a class for the first time concurrently. The other
+   * threads wait for the result. Use this for expensive values such as generated classes, where
+   * {@link ClassValue} would compute the value in each racing thread and discard all but one.
+   *
+   * <p>The mapper must not return {@code null}.
+   */
+  public static <T> ClassValue<Supplier<T>> createComputedOnce(Function<Class<?>, T> mapper) {
+    return create(type -> new ComputedOnce<>(type, mapper));
+  }
+
+  /**
+   * Removes the cached values of all classes that were defined by the given class loader or one of
+   * its descendants, such as property descriptors and generated proxy classes. Call this method
+   * when the class loader is discarded, for example on redeploy.
+   *
+   * <p>This covers all class values created by this class, which includes every per-class cache of
+   * this library. The canonical immutable proxies are not cached per class: they are held only
+   * weakly, together with weak references to the proxied instances, and are released when those
+   * instances are garbage collected.
+   */
+  public static void invalidate(ClassLoader classLoader) {
+    List<Class<?>> typesToRemove = new ArrayList<>();
+    synchronized (computedTypes) {
+      for (Class<?> type : computedTypes) {
+        if (isDefinedBy(type, classLoader)) {
+          typesToRemove.add(type);
+        }
+      }
+      typesToRemove.forEach(computedTypes::remove);
+    }
+    List<ClassValue<?>> classValuesToClear;
+    synchronized (classValues) {
+      classValuesToClear = new ArrayList<>(classValues);
+    }
+    for (ClassValue<?> classValue : classValuesToClear) {
+      for (Class<?> type : typesToRemove) {
+        classValue.remove(type);
+      }
+    }
+  }
+
+  private static boolean isDefinedBy(Class<?> type, ClassLoader classLoader) {
+    for (ClassLoader current = type.getClassLoader();
+        current != null;
+        current = current.getParent()) {
+      if (current == classLoader) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static <T> Set<T> newWeakSet() {
+    return Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+  }
+
+  private static final class ComputedOnce<T> implements Supplier<T> {
+
+    private final Class<?> type;
+    private final Function<Class<?>, T> mapper;
+    private volatile T value;
+
+    private ComputedOnce(Class<?> type, Function<Class<?>, T> mapper) {
+      this.type = type;
+      this.mapper = mapper;
+    }
+
+    @Override
+    public T get() {
+      T result = value;
+      if (result == null) {
+        synchronized (this) {
+          result = value;
+          if (result == null) {
+            result = mapper.apply(type);
+            value = result;
+          }
+        }
       }
-    };
+      return result;
+    }
   }
 }
@@ -0,0 +1,72 @@
+package de.cronn.reflection.util;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+
+public final class GeneratedClasses {
+
+  private static final LongAdder generatedClassCount = new LongAdder();
+  private static final Set<Class<?>> loadedClasses =
+      Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+  private GeneratedClasses() {}
+
+  /**
+   * Loads the generated class into the class loader and package of the target class, so that it
+   * can be unloaded together with the target class. Falls back to the class loader of {@code
+   * libraryClass} if the target class loader cannot see the library or does not grant access.
+   */
+  public static <T> Class<? extends T> load(
+      DynamicType.Unloaded<T> unloadedType, Class<?> targetClass, Class<?> libraryClass) {
+    Class<? extends T> loadedClass;
+    if (canLoadNextTo(targetClass, libraryClass)) {
+      loadedClass = loadNextTo(unloadedType, targetClass, libraryClass);
+    } else {
+      loadedClass = unloadedType.load(libraryClass.getClassLoader()).getLoaded();
+    }
+    generatedClassCount.increment();
+    loadedClasses.add(loadedClass);
+    return loadedClass;
+  }
+
+  private static <T> Class<? extends T> loadNextTo(
+      DynamicType.Unloaded<T> unloadedType, Class<?> targetClass, Class<?> libraryClass) {
+    MethodHandles.Lookup lookup;
+    try {
+      lookup = MethodHandles.privateLookupIn(targetClass, MethodHandles.lookup());
+    } catch (IllegalAccessException e) {
+      return unloadedType.load(libraryClass.getClassLoader()).getLoaded();
+    }
+    return unloadedType
+        .load(targetClass.getClassLoader(), ClassLoadingStrategy.UsingLookup.of(lookup))
+        .getLoaded();
+  }
+
+  private static boolean canLoadNextTo(Class<?> targetClass, Class<?> libraryClass) {
+    ClassLoader targetClassLoader = targetClass.getClassLoader();
+    if (targetClassLoader == null || targetClass.getName().startsWith("java.")) {
+      return false;
+    }
+    // the generated class refers to classes of this library
+    try {
+      return Class.forName(libraryClass.getName(), false, targetClassLoader) == libraryClass;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  /** Returns the number of classes that were generated since the start of the JVM. */
+  public static long getGeneratedClassCount() {
+    return generatedClassCount.sum();
+  }
+
+  /** Returns the number of generated classes that were not yet unloaded. */
+  public static int getLoadedClassCount() {
+    return loadedClasses.size();
+  }
+}
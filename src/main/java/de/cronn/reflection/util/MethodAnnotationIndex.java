@@ -0,0 +1,127 @@
+package de.cronn.reflection.util;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Annotations that the methods of a class inherit from the overridden methods of its superclasses
+ * and interfaces. The index of a class is merged from the cached indexes of its supertypes.
+ */
+final class MethodAnnotationIndex {
+
+  private static final MethodAnnotationIndex EMPTY = new MethodAnnotationIndex(Map.of());
+
+  private static final ClassValue<MethodAnnotationIndex> indexCache =
+      ClassValues.create(MethodAnnotationIndex::build);
+
+  private final Map<MethodKey, Map<Class<? extends Annotation>, Annotation>> inheritedAnnotations;
+
+  private MethodAnnotationIndex(
+      Map<MethodKey, Map<Class<? extends Annotation>, Annotation>> inheritedAnnotations) {
+    this.inheritedAnnotations = inheritedAnnotations;
+  }
+
+  static <A extends Annotation> A findAnnotation(Method method, Class<A> annotationType) {
+    A annotation = method.getAnnotation(annotationType);
+    if (annotation != null) {
+      return annotation;
+    }
+    return indexCache.get(method.getDeclaringClass()).findInherited(method, annotationType);
+  }
+
+  private <A extends Annotation> A findInherited(Method method, Class<A> annotationType) {
+    Map<Class<? extends Annotation>, Annotation> annotations =
+        inheritedAnnotations.get(new MethodKey(method));
+    if (annotations == null) {
+      return null;
+    }
+    return annotationType.cast(annotations.get(annotationType));
+  }
+
+  private static MethodAnnotationIndex build(Class<?> clazz) {
+    if (clazz.equals(Object.class)) {
+      return EMPTY;
+    }
+    Map<MethodKey, Map<Class<? extends Annotation>, Annotation>> annotations = new HashMap<>();
+    Class<?> superclass = clazz.getSuperclass();
+    if (superclass != null) {
+      for (Method candidate : superclass.getMethods()) {
+        addCandidate(annotations, candidate);
+      }
+    }
+    for (Class<?> interfaceClass : clazz.getInterfaces()) {
+      for (Method candidate : interfaceClass.getDeclaredMethods()) {
+        addCandidate(annotations, candidate);
+      }
+      addAll(annotations, indexCache.get(interfaceClass));
+    }
+    if (superclass != null) {
+      addAll(annotations, indexCache.get(superclass));
+    }
+    if (annotations.isEmpty()) {
+      return EMPTY;
+    }
+    annotations.replaceAll((key, value) -> Collections.unmodifiableMap(value));
+    return new MethodAnnotationIndex(annotations);
+  }
+
+  private static void addCandidate(
+      Map<MethodKey, Map<Class<? extends Annotation>, Annotation>> annotations, Method candidate) {
+    MethodKey key = new MethodKey(candidate);
+    for (Annotation annotation : candidate.getAnnotations()) {
+      add(annotations, key, annotation);
+    }
+    Map<Class<? extends Annotation>, Annotation> inherited =
+        indexCache.get(candidate.getDeclaringClass()).inheritedAnnotations.get(key);
+    if (inherited != null) {
+      inherited.values().forEach(annotation -> add(annotations, key, annotation));
+    }
+  }
+
+  private static void addAll(
+      Map<MethodKey, Map<Class<? extends Annotation>, Annotation>> annotations,
+      MethodAnnotationIndex index) {
+    index.inheritedAnnotations.forEach(
+        (key, inherited) ->
+            inherited.values().forEach(annotation -> add(annotations, key, annotation)));
+  }
+
+  private static void add(
+      Map<MethodKey, Map<Class<? extends Annotation>, Annotation>> annotations,
+      MethodKey key,
+      Annotation annotation) {
+    annotations
+        .computeIfAbsent(key, k -> new LinkedHashMap<>())
+        .putIfAbsent(annotation.annotationType(), annotation);
+  }
+
+  private static final class MethodKey {
+
+    private final String name;
+    private final Class<?>[] parameterTypes;
+    private final int hashCode;
+
+    private MethodKey(Method method) {
+      this.name = method.getName();
+      this.parameterTypes = method.getParameterTypes();
+      this.hashCode = 31 * name.hashCode() + Arrays.hashCode(parameterTypes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof MethodKey other
+          && name.equals(other.name)
+          && Arrays.equals(parameterTypes, other.parameterTypes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
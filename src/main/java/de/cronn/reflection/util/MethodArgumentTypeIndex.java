@@ -0,0 +1,142 @@
+package de.cronn.reflection.util;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/** The public methods of a class, indexed by their parameter types. */
+final class MethodArgumentTypeIndex {
+
+  private static final ClassValue<MethodArgumentTypeIndex> indexCache =
+      ClassValues.create(MethodArgumentTypeIndex::new);
+
+  // bounds the cache of each class, since the argument types may be the runtime types of arbitrary
+  // values. tuples beyond the limit are resolved on every call
+  private static final int MAX_CACHED_ARGUMENT_TYPES = 256;
+
+  private final ClassLoader classLoader;
+  private final Map<List<Class<?>>, List<Method>> methodsByParameterTypes;
+  private final Map<List<Class<?>>, List<Method>> mostSpecificMethodsByArgumentTypes =
+      new ConcurrentHashMap<>();
+
+  private MethodArgumentTypeIndex(Class<?> clazz) {
+    this.classLoader = clazz.getClassLoader();
+    Map<List<Class<?>>, List<Method>> methods = new LinkedHashMap<>();
+    for (Method method : clazz.getMethods()) {
+      methods
+          .computeIfAbsent(List.of(method.getParameterTypes()), k -> new ArrayList<>())
+          .add(method);
+    }
+    this.methodsByParameterTypes = methods;
+  }
+
+  static List<Method> findMethods(Class<?> clazz, Class<?>... argumentTypes) {
+    if (argumentTypes == null) {
+      return new ArrayList<>();
+    }
+    List<Method> methods =
+        indexCache
+            .get(clazz)
+            .methodsByParameterTypes
+            .getOrDefault(Arrays.asList(argumentTypes), List.of());
+    return new ArrayList<>(methods);
+  }
+
+  static Method findMostSpecificMethod(Class<?> clazz, Class<?>... argumentTypes) {
+    Assert.notNull(argumentTypes, () -> "argumentTypes must not be null");
+    for (Class<?> argumentType : argumentTypes) {
+      Assert.notNull(argumentType, () -> "argumentTypes must not contain null");
+    }
+    List<Method> methods = indexCache.get(clazz).getMostSpecificMethods(List.of(argumentTypes));
+    if (methods.isEmpty()) {
+      return null;
+    }
+    if (methods.size() > 1) {
+      throw new IllegalArgumentException(
+          "Ambiguous methods for argument types "
+              + Arrays.toString(argumentTypes)
+              + " in "
+              + clazz
+              + ": "
+              + methods.stream().map(Method::toString).collect(Collectors.joining(", ")));
+    }
+    return methods.get(0);
+  }
+
+  static int getCachedArgumentTypesCount(Class<?> clazz) {
+    return indexCache.get(clazz).mostSpecificMethodsByArgumentTypes.size();
+  }
+
+  private List<Method> getMostSpecificMethods(List<Class<?>> argumentTypes) {
+    List<Method> methods = mostSpecificMethodsByArgumentTypes.get(argumentTypes);
+    if (methods != null) {
+      return methods;
+    }
+    methods = determineMostSpecific(argumentTypes);
+    if (mostSpecificMethodsByArgumentTypes.size() < MAX_CACHED_ARGUMENT_TYPES
+        && argumentTypes.stream().allMatch(this::isVisible)) {
+      mostSpecificMethodsByArgumentTypes.putIfAbsent(argumentTypes, methods);
+    }
+    return methods;
+  }
+
+  // whether the class loader of the indexed class can see the type. other types are not cached,
+  // since the index would keep their class loader alive as long as the indexed class
+  private boolean isVisible(Class<?> type) {
+    ClassLoader typeClassLoader = type.getClassLoader();
+    if (typeClassLoader == null) {
+      return true;
+    }
+    for (ClassLoader current = classLoader; current != null; current = current.getParent()) {
+      if (current == typeClassLoader) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private List<Method> determineMostSpecific(List<Class<?>> argumentTypes) {
+    List<Method> candidates = new ArrayList<>();
+    for (Map.Entry<List<Class<?>>, List<Method>> entry : methodsByParameterTypes.entrySet()) {
+      if (isAssignable(entry.getKey(), argumentTypes)) {
+        for (Method method : entry.getValue()) {
+          if (!method.isBridge()) {
+            candidates.add(method);
+          }
+        }
+      }
+    }
+    List<Method> mostSpecific = new ArrayList<>();
+    for (Method candidate : candidates) {
+      if (candidates.stream().allMatch(other -> isAtLeastAsSpecific(candidate, other))) {
+        mostSpecific.add(candidate);
+      }
+    }
+    if (mostSpecific.isEmpty()) {
+      // no candidate is more specific than all others
+      return List.copyOf(candidates);
+    }
+    return List.copyOf(mostSpecific);
+  }
+
+  private static boolean isAtLeastAsSpecific(Method method, Method other) {
+    return isAssignable(List.of(other.getParameterTypes()), List.of(method.getParameterTypes()));
+  }
+
+  private static boolean isAssignable(List<Class<?>> parameterTypes, List<Class<?>> argumentTypes) {
+    if (parameterTypes.size() != argumentTypes.size()) {
+      return false;
+    }
+    for (int i = 0; i < parameterTypes.size(); i++) {
+      if (!parameterTypes.get(i).isAssignableFrom(argumentTypes.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
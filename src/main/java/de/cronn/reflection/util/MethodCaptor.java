@@ -50,7 +50,7 @@ public class MethodCaptor {
             .method(isMethod().and(takesArguments(0)).and(not(isDeclaredBy(Object.class))))
             .intercept(MethodDelegation.to(MethodCaptor.class))
             .make()) {
-      return unloadedType.load(PropertyUtils.class.getClassLoader()).getLoaded();
+      return GeneratedClasses.load(unloadedType, beanClass, MethodCaptor.class);
     } catch (IllegalAccessError e) {
       throw new ReflectionRuntimeException("Failed to create proxy on " + beanClass, e);
     }
@@ -3,19 +3,39 @@ package de.cronn.reflection.util;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 final class MethodSignature implements Comparable<MethodSignature> {
 
+  private static final Comparator<MethodSignature> COMPARATOR =
+      Comparator.comparing(MethodSignature::getName)
+          .thenComparing(MethodSignature::getReturnTypeName)
+          .thenComparing(MethodSignature::getParameterTypeNames);
+
+  private static final ClassValue<Map<Method, MethodSignature>> internedSignatures =
+      ClassValues.create(clazz -> new ConcurrentHashMap<>());
+
   private final String name;
   private final Class<?> returnType;
   private final Class<?>[] parameterTypes;
+  private final String parameterTypeNames;
+  private final int hashCode;
 
   MethodSignature(Method method) {
     this.name = method.getName();
     this.returnType = method.getReturnType();
     this.parameterTypes = method.getParameterTypes();
+    this.parameterTypeNames = mapToString(parameterTypes);
+    this.hashCode = calculateHashCode();
+  }
+
+  static MethodSignature of(Method method) {
+    return internedSignatures
+        .get(method.getDeclaringClass())
+        .computeIfAbsent(method, MethodSignature::new);
   }
 
   @Override
@@ -34,7 +54,13 @@ final class MethodSignature implements Comparable<MethodSignature> {
 
   @Override
   public int hashCode() {
-    return Objects.hash(name, returnType, Arrays.hashCode(parameterTypes));
+    return hashCode;
+  }
+
+  private int calculateHashCode() {
+    int result = Objects.hashCode(name);
+    result = 31 * result + Objects.hashCode(returnType);
+    return 31 * result + Arrays.hashCode(parameterTypes);
   }
 
   String getName() {
@@ -45,19 +71,17 @@ final class MethodSignature implements Comparable<MethodSignature> {
     return returnType;
   }
 
-  private Class<?>[] getParameterTypes() {
-    return parameterTypes;
+  private String getReturnTypeName() {
+    return returnType.getName();
+  }
+
+  private String getParameterTypeNames() {
+    return parameterTypeNames;
   }
 
   @Override
   public int compareTo(MethodSignature other) {
-    Comparator<MethodSignature> comparator =
-        Comparator.comparing(MethodSignature::getName)
-            .thenComparing(MethodSignature::getReturnType, Comparator.comparing(Class::getName))
-            .thenComparing(
-                MethodSignature::getParameterTypes,
-                Comparator.comparing(MethodSignature::mapToString));
-    return comparator.compare(this, other);
+    return COMPARATOR.compare(this, other);
   }
 
   private static String mapToString(Class<?>[] list) {
@@ -66,11 +90,6 @@ final class MethodSignature implements Comparable<MethodSignature> {
 
   @Override
   public String toString() {
-    return getReturnType().getName()
-        + " "
-        + getName()
-        + "("
-        + mapToString(getParameterTypes())
-        + ")";
+    return getReturnTypeName() + " " + getName() + "(" + getParameterTypeNames() + ")";
   }
 }
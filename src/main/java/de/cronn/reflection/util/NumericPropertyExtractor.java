@@ -0,0 +1,163 @@
+package de.cronn.reflection.util;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+final class NumericPropertyExtractor {
+
+  // below this size, splitting the work across cores costs more than it saves
+  static final int PARALLEL_THRESHOLD = 10_000;
+
+  private NumericPropertyExtractor() {}
+
+  static <T> long[] extractLongs(List<? extends T> beans, TypedPropertyGetter<T, Long> getter) {
+    List<? extends T> list = toRandomAccessList(beans);
+    PropertyReader<T> reader = PropertyReader.resolve(list, getter);
+    long[] values = new long[list.size()];
+    if (isParallel(list)) {
+      Arrays.parallelSetAll(values, i -> reader.readLong(list, i));
+    } else {
+      Arrays.setAll(values, i -> reader.readLong(list, i));
+    }
+    return values;
+  }
+
+  static <T> int[] extractInts(List<? extends T> beans, TypedPropertyGetter<T, Integer> getter) {
+    List<? extends T> list = toRandomAccessList(beans);
+    PropertyReader<T> reader = PropertyReader.resolve(list, getter);
+    int[] values = new int[list.size()];
+    if (isParallel(list)) {
+      Arrays.parallelSetAll(values, i -> reader.readInt(list, i));
+    } else {
+      Arrays.setAll(values, i -> reader.readInt(list, i));
+    }
+    return values;
+  }
+
+  static <T> double[] extractDoubles(
+      List<? extends T> beans, TypedPropertyGetter<T, Double> getter) {
+    List<? extends T> list = toRandomAccessList(beans);
+    PropertyReader<T> reader = PropertyReader.resolve(list, getter);
+    double[] values = new double[list.size()];
+    if (isParallel(list)) {
+      Arrays.parallelSetAll(values, i -> reader.readDouble(list, i));
+    } else {
+      Arrays.setAll(values, i -> reader.readDouble(list, i));
+    }
+    return values;
+  }
+
+  static <T> LongSummaryStatistics summarizeLongs(
+      List<? extends T> beans, TypedPropertyGetter<T, Long> getter) {
+    List<? extends T> list = toRandomAccessList(beans);
+    PropertyReader<T> reader = PropertyReader.resolve(list, getter);
+    return indexes(list).mapToLong(i -> reader.readLong(list, i)).summaryStatistics();
+  }
+
+  static <T> IntSummaryStatistics summarizeInts(
+      List<? extends T> beans, TypedPropertyGetter<T, Integer> getter) {
+    List<? extends T> list = toRandomAccessList(beans);
+    PropertyReader<T> reader = PropertyReader.resolve(list, getter);
+    return indexes(list).map(i -> reader.readInt(list, i)).summaryStatistics();
+  }
+
+  static <T> DoubleSummaryStatistics summarizeDoubles(
+      List<? extends T> beans, TypedPropertyGetter<T, Double> getter) {
+    List<? extends T> list = toRandomAccessList(beans);
+    PropertyReader<T> reader = PropertyReader.resolve(list, getter);
+    return indexes(list).mapToDouble(i -> reader.readDouble(list, i)).summaryStatistics();
+  }
+
+  private static IntStream indexes(List<?> list) {
+    IntStream indexes = IntStream.range(0, list.size());
+    return isParallel(list) ? indexes.parallel() : indexes;
+  }
+
+  private static boolean isParallel(List<?> list) {
+    return list.size() >= PARALLEL_THRESHOLD;
+  }
+
+  private static <T> List<T> toRandomAccessList(List<T> beans) {
+    return beans instanceof RandomAccess ? beans : new ArrayList<>(beans);
+  }
+
+  /**
+   * Reads a numeric property of the beans. The getter is resolved to its property once. Primitive
+   * properties are read through method handles without boxing, other properties via the getter.
+   */
+  private static final class PropertyReader<T> {
+
+    private final TypedPropertyGetter<T, ? extends Number> getter;
+    private final PropertyAccessor accessor;
+    private final Class<?> declaringClass;
+
+    private PropertyReader(
+        TypedPropertyGetter<T, ? extends Number> getter,
+        PropertyAccessor accessor,
+        Class<?> declaringClass) {
+      this.getter = getter;
+      this.accessor = accessor;
+      this.declaringClass = declaringClass;
+    }
+
+    static <T> PropertyReader<T> resolve(
+        List<? extends T> beans, TypedPropertyGetter<T, ? extends Number> getter) {
+      T firstBean = beans.isEmpty() ? null : beans.get(0);
+      if (firstBean == null) {
+        return new PropertyReader<>(getter, null, null);
+      }
+      Class<T> beanClass = ClassUtils.getRealClass(firstBean);
+      PropertyDescriptor propertyDescriptor =
+          PropertyUtils.getPropertyDescriptor(beanClass, getter);
+      if (!propertyDescriptor.getPropertyType().isPrimitive()) {
+        return new PropertyReader<>(getter, null, null);
+      }
+      return new PropertyReader<>(
+          getter,
+          PropertyUtils.getCache(beanClass).getAccessor(propertyDescriptor),
+          propertyDescriptor.getReadMethod().getDeclaringClass());
+    }
+
+    long readLong(List<? extends T> beans, int index) {
+      T bean = beans.get(index);
+      if (canReadPrimitive(bean)) {
+        return accessor.readLong(bean);
+      }
+      return readBoxed(bean, index).longValue();
+    }
+
+    int readInt(List<? extends T> beans, int index) {
+      T bean = beans.get(index);
+      if (canReadPrimitive(bean)) {
+        return accessor.readInt(bean);
+      }
+      return readBoxed(bean, index).intValue();
+    }
+
+    double readDouble(List<? extends T> beans, int index) {
+      T bean = beans.get(index);
+      if (canReadPrimitive(bean)) {
+        return accessor.readDouble(bean);
+      }
+      return readBoxed(bean, index).doubleValue();
+    }
+
+    private boolean canReadPrimitive(T bean) {
+      // the list may contain beans of other subclasses than the first one
+      return accessor != null && declaringClass.isInstance(bean);
+    }
+
+    private Number readBoxed(T bean, int index) {
+      Number value = getter.get(bean);
+      Assert.notNull(value, () -> "Property value of element " + index + " is null");
+      return value;
+    }
+  }
+}
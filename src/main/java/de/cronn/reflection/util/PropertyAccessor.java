@@ -0,0 +1,226 @@
+package de.cronn.reflection.util;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads and writes a property through method handles that are resolved once per property.
+ *
+ * <p>Values can be read and written as objects, or as primitive values through method handles
+ * whose types are adapted to a primitive type, so primitive values are neither boxed on read nor
+ * unboxed on write. The adaptation follows {@link MethodHandle#asType}: an {@code int} property can
+ * be read as {@code long} and an {@code Integer} property can be read as {@code int}, but a {@code
+ * long} property cannot be read as {@code int}.
+ */
+final class PropertyAccessor {
+
+  private static final MethodType OBJECT_READER_TYPE =
+      MethodType.methodType(Object.class, Object.class);
+  private static final MethodType OBJECT_WRITER_TYPE =
+      MethodType.methodType(void.class, Object.class, Object.class);
+
+  private final PropertyDescriptor propertyDescriptor;
+  private final MethodHandle objectReader;
+  private final MethodHandle objectWriter;
+  private final Map<Class<?>, MethodHandle> readers = new ConcurrentHashMap<>();
+  private final Map<Class<?>, MethodHandle> writers = new ConcurrentHashMap<>();
+
+  PropertyAccessor(PropertyDescriptor propertyDescriptor) {
+    this.propertyDescriptor = propertyDescriptor;
+    this.objectReader = findObjectHandle(propertyDescriptor.getReadMethod(), OBJECT_READER_TYPE);
+    this.objectWriter = findObjectHandle(propertyDescriptor.getWriteMethod(), OBJECT_WRITER_TYPE);
+  }
+
+  // null if the method does not exist or cannot be accessed. such properties are accessed via
+  // PropertyUtils, so the failures are reported like for any other property access
+  private static MethodHandle findObjectHandle(Method method, MethodType methodType) {
+    if (method == null) {
+      return null;
+    }
+    try {
+      return MethodHandles.lookup().unreflect(method).asType(methodType);
+    } catch (IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  Object read(Object bean) {
+    if (objectReader == null) {
+      return PropertyUtils.read(bean, propertyDescriptor);
+    }
+    try {
+      return (Object) objectReader.invokeExact(bean);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw readFailure(bean, e);
+    }
+  }
+
+  void write(Object bean, Object value) {
+    if (objectWriter == null) {
+      PropertyUtils.write(bean, propertyDescriptor, value);
+      return;
+    }
+    try {
+      objectWriter.invokeExact(bean, value);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw writeFailure(bean, e);
+    }
+  }
+
+  PropertyDescriptor getPropertyDescriptor() {
+    return propertyDescriptor;
+  }
+
+  int readInt(Object bean) {
+    MethodHandle reader = getReader(int.class);
+    try {
+      return (int) reader.invokeExact(bean);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw readFailure(bean, e);
+    }
+  }
+
+  long readLong(Object bean) {
+    MethodHandle reader = getReader(long.class);
+    try {
+      return (long) reader.invokeExact(bean);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw readFailure(bean, e);
+    }
+  }
+
+  double readDouble(Object bean) {
+    MethodHandle reader = getReader(double.class);
+    try {
+      return (double) reader.invokeExact(bean);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw readFailure(bean, e);
+    }
+  }
+
+  boolean readBoolean(Object bean) {
+    MethodHandle reader = getReader(boolean.class);
+    try {
+      return (boolean) reader.invokeExact(bean);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw readFailure(bean, e);
+    }
+  }
+
+  void writeInt(Object bean, int value) {
+    MethodHandle writer = getWriter(int.class);
+    try {
+      writer.invokeExact(bean, value);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw writeFailure(bean, e);
+    }
+  }
+
+  void writeLong(Object bean, long value) {
+    MethodHandle writer = getWriter(long.class);
+    try {
+      writer.invokeExact(bean, value);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw writeFailure(bean, e);
+    }
+  }
+
+  void writeDouble(Object bean, double value) {
+    MethodHandle writer = getWriter(double.class);
+    try {
+      writer.invokeExact(bean, value);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw writeFailure(bean, e);
+    }
+  }
+
+  void writeBoolean(Object bean, boolean value) {
+    MethodHandle writer = getWriter(boolean.class);
+    try {
+      writer.invokeExact(bean, value);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw writeFailure(bean, e);
+    }
+  }
+
+  private MethodHandle getReader(Class<?> primitiveType) {
+    return readers.computeIfAbsent(primitiveType, this::createReader);
+  }
+
+  private MethodHandle getWriter(Class<?> primitiveType) {
+    return writers.computeIfAbsent(primitiveType, this::createWriter);
+  }
+
+  private MethodHandle createReader(Class<?> primitiveType) {
+    Method readMethod = propertyDescriptor.getReadMethod();
+    Assert.notNull(
+        readMethod, () -> String.format("%s must be readable", propertyDescriptor.getName()));
+    MethodType methodType = MethodType.methodType(primitiveType, Object.class);
+    return adapt(readMethod, methodType, "read as " + primitiveType.getName());
+  }
+
+  private MethodHandle createWriter(Class<?> primitiveType) {
+    Method writeMethod = propertyDescriptor.getWriteMethod();
+    Assert.notNull(writeMethod, () -> propertyDescriptor.getName() + " is not writable");
+    MethodType methodType = MethodType.methodType(void.class, Object.class, primitiveType);
+    return adapt(writeMethod, methodType, "written as " + primitiveType.getName());
+  }
+
+  private MethodHandle adapt(Method method, MethodType methodType, String access) {
+    MethodHandle methodHandle;
+    try {
+      methodHandle = MethodHandles.lookup().unreflect(method);
+    } catch (IllegalAccessException e) {
+      throw new ReflectionRuntimeException("Failed to access " + method, e);
+    }
+    try {
+      return methodHandle.asType(methodType);
+    } catch (WrongMethodTypeException e) {
+      throw new IllegalArgumentException(
+          String.format(
+              "%s is of type %s and cannot be %s",
+              propertyDescriptor.getName(),
+              propertyDescriptor.getPropertyType().getName(),
+              access),
+          e);
+    }
+  }
+
+  private ReflectionRuntimeException readFailure(Object bean, Throwable cause) {
+    return new ReflectionRuntimeException(
+        "Failed to read " + PropertyUtils.getQualifiedPropertyName(bean, propertyDescriptor),
+        cause);
+  }
+
+  private ReflectionRuntimeException writeFailure(Object bean, Throwable cause) {
+    return new ReflectionRuntimeException(
+        "Failed to write " + PropertyUtils.getQualifiedPropertyName(bean, propertyDescriptor),
+        cause);
+  }
+}
@@ -20,20 +20,28 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 class PropertyDescriptorCache<T> {
 
   private final Class<T> originalClass;
-  private final AtomicReference<Class<? extends T>> methodCapturingProxy = new AtomicReference<>();
+  private final Object methodCapturingProxyLock = new Object();
+  private volatile Class<? extends T> methodCapturingProxy;
   private final Map<String, PropertyDescriptor> propertyDescriptorsByName = new LinkedHashMap<>();
   private final Map<Field, PropertyDescriptor> propertyDescriptorsByField = new LinkedHashMap<>();
   private final Map<Method, PropertyDescriptor> propertyDescriptorsByMethod = new LinkedHashMap<>();
   private final Map<Class<? extends Annotation>, Map<PropertyDescriptor, Annotation>>
       propertyDescriptorsByAnnotation = new LinkedHashMap<>();
-  private final Map<TypedPropertyGetter<T, ?>, Method> methodByPropertyGetterCache =
-      new ConcurrentHashMap<>();
-  private final Map<VoidMethod<T>, Method> methodByVoidMethodCache = new ConcurrentHashMap<>();
+  // keyed by the lambda class, which identifies the method since the lambdas must not capture
+  // any state. the lambdas may belong to a class loader that is discarded before originalClass
+  private final ClassValue<AtomicReference<Method>> methodByLambdaClass =
+      ClassValues.create(lambdaClass -> new AtomicReference<>());
   private final Map<PropertyDescriptor, Object> defaultValues = new ConcurrentHashMap<>();
+  private final Map<PropertyDescriptor, PropertyAccessor> accessors = new ConcurrentHashMap<>();
+  private final Map<String, PropertyPath<T, ?>> propertyPaths = new ConcurrentHashMap<>();
+  private final AtomicReference<PropertyMapPlan<T>> propertyMapPlan = new AtomicReference<>();
+  private final Map<Class<? extends Annotation>, AnnotatedProperties<T, ?>> annotatedProperties =
+      new ConcurrentHashMap<>();
 
   PropertyDescriptorCache(Class<T> originalClass) {
     this.originalClass = originalClass;
@@ -81,14 +89,18 @@ class PropertyDescriptorCache<T> {
   }
 
   Class<? extends T> getMethodCapturingProxy() {
-    return methodCapturingProxy.updateAndGet(
-        proxyClass -> {
-          if (proxyClass == null) {
-            return MethodCaptor.createProxyClass(originalClass);
-          } else {
-            return proxyClass;
-          }
-        });
+    Class<? extends T> proxyClass = methodCapturingProxy;
+    if (proxyClass == null) {
+      // generate the class only once, concurrent callers wait for it
+      synchronized (methodCapturingProxyLock) {
+        proxyClass = methodCapturingProxy;
+        if (proxyClass == null) {
+          proxyClass = MethodCaptor.createProxyClass(originalClass);
+          methodCapturingProxy = proxyClass;
+        }
+      }
+    }
+    return proxyClass;
   }
 
   private Set<Field> getFields() {
@@ -195,6 +207,22 @@ class PropertyDescriptorCache<T> {
     return Collections.unmodifiableMap(descriptors);
   }
 
+  <A extends Annotation> AnnotatedProperties<T, A> getAnnotatedProperties(
+      Class<A> annotationClass) {
+    @SuppressWarnings("unchecked")
+    AnnotatedProperties<T, A> properties =
+        (AnnotatedProperties<T, A>)
+            annotatedProperties.computeIfAbsent(
+                annotationClass, a -> createAnnotatedProperties(annotationClass));
+    return properties;
+  }
+
+  private <A extends Annotation> AnnotatedProperties<T, A> createAnnotatedProperties(
+      Class<A> annotationClass) {
+    return new AnnotatedProperties<>(
+        originalClass, annotationClass, getDescriptorsForAnnotation(annotationClass));
+  }
+
   PropertyDescriptor getDescriptorByName(String propertyName) {
     return propertyDescriptorsByName.get(propertyName);
   }
@@ -215,16 +243,45 @@ class PropertyDescriptorCache<T> {
     }
   }
 
+  PropertyAccessor getAccessor(PropertyDescriptor propertyDescriptor) {
+    return accessors.computeIfAbsent(propertyDescriptor, PropertyAccessor::new);
+  }
+
+  <V> PropertyPath<T, V> getPropertyPath(String path) {
+    @SuppressWarnings("unchecked")
+    PropertyPath<T, V> propertyPath =
+        (PropertyPath<T, V>)
+            propertyPaths.computeIfAbsent(path, p -> PropertyPath.resolve(originalClass, p));
+    return propertyPath;
+  }
+
+  PropertyMapPlan<T> getPropertyMapPlan() {
+    return propertyMapPlan.updateAndGet(
+        plan -> plan != null ? plan : new PropertyMapPlan<>(originalClass, getDescriptors()));
+  }
+
   Method getMethod(TypedPropertyGetter<T, ?> propertyGetter) {
     assertHasNoDeclaredFields(propertyGetter);
-    return methodByPropertyGetterCache.computeIfAbsent(
-        propertyGetter, getter -> PropertyUtils.findMethodByGetter(originalClass, getter));
+    return getMethod(
+        propertyGetter, () -> PropertyUtils.findMethodByGetter(originalClass, propertyGetter));
   }
 
   Method getMethod(VoidMethod<T> voidMethod) {
     assertHasNoDeclaredFields(voidMethod);
-    return methodByVoidMethodCache.computeIfAbsent(
-        voidMethod, m -> PropertyUtils.findMethodByGetter(originalClass, toPropertyGetter(m)));
+    return getMethod(
+        voidMethod,
+        () -> PropertyUtils.findMethodByGetter(originalClass, toPropertyGetter(voidMethod)));
+  }
+
+  private Method getMethod(Object lambda, Supplier<Method> methodFinder) {
+    AtomicReference<Method> cachedMethod = methodByLambdaClass.get(lambda.getClass());
+    Method method = cachedMethod.get();
+    if (method == null) {
+      // racing threads find the same method, the proxy class is generated only once
+      method = methodFinder.get();
+      cachedMethod.set(method);
+    }
+    return method;
   }
 
   private static void assertHasNoDeclaredFields(Object lambda) {
@@ -0,0 +1,282 @@
+package de.cronn.reflection.util;
+
+import java.beans.PropertyDescriptor;
+import java.io.Serial;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The readable properties of a class in a fixed order, used to convert beans to maps and back
+ * without resolving property names or accessor methods per conversion.
+ */
+final class PropertyMapPlan<T> {
+
+  private final Class<T> type;
+  private final PropertyDescriptor[] propertyDescriptors;
+  private final PropertyAccessor[] accessors;
+  private final String[] propertyNames;
+  private final Map<String, Integer> indexByPropertyName;
+  private final Constructor<T> constructor;
+  private final int[] constructorArgumentIndexes;
+
+  PropertyMapPlan(Class<T> type, Iterable<PropertyDescriptor> propertyDescriptors) {
+    this.type = type;
+    List<PropertyDescriptor> readableProperties = new ArrayList<>();
+    for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
+      if (PropertyUtils.isReadable(propertyDescriptor)
+          && !propertyDescriptor.getName().equals("class")) {
+        readableProperties.add(propertyDescriptor);
+      }
+    }
+    int size = readableProperties.size();
+    this.propertyDescriptors = readableProperties.toArray(new PropertyDescriptor[0]);
+    this.accessors = new PropertyAccessor[size];
+    this.propertyNames = new String[size];
+    this.indexByPropertyName = new HashMap<>(size * 4 / 3 + 1);
+    for (int i = 0; i < size; i++) {
+      accessors[i] = new PropertyAccessor(this.propertyDescriptors[i]);
+      propertyNames[i] = this.propertyDescriptors[i].getName();
+      indexByPropertyName.put(propertyNames[i], Integer.valueOf(i));
+    }
+    this.constructor = findConstructor(type);
+    this.constructorArgumentIndexes = type.isRecord() ? getRecordComponentIndexes(type) : null;
+  }
+
+  private static <T> Constructor<T> findConstructor(Class<T> type) {
+    Constructor<T> constructor;
+    try {
+      if (type.isRecord()) {
+        constructor = RecordSupport.getRecordConstructor(type);
+      } else {
+        constructor = type.getDeclaredConstructor();
+      }
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+    // the constructor is a copy owned by this plan. it is made accessible once, since toggling
+    // the flag per call would race between concurrent conversions
+    constructor.trySetAccessible();
+    return constructor;
+  }
+
+  private int[] getRecordComponentIndexes(Class<T> recordType) {
+    RecordComponent[] recordComponents = recordType.getRecordComponents();
+    int[] indexes = new int[recordComponents.length];
+    for (int i = 0; i < recordComponents.length; i++) {
+      indexes[i] = indexByPropertyName.get(recordComponents[i].getName()).intValue();
+    }
+    return indexes;
+  }
+
+  Map<String, Object> toMap(T bean) {
+    Object[] values = new Object[propertyNames.length];
+    for (int i = 0; i < accessors.length; i++) {
+      values[i] = accessors[i].read(bean);
+    }
+    return new PropertyMap(this, values);
+  }
+
+  T fromMap(Map<String, ?> map) {
+    Object[] values;
+    boolean[] present;
+    if (map instanceof PropertyMap propertyMap && propertyMap.plan == this) {
+      values = propertyMap.values;
+      present = null;
+    } else {
+      values = new Object[propertyNames.length];
+      present = new boolean[propertyNames.length];
+      for (Map.Entry<String, ?> entry : map.entrySet()) {
+        int index = getIndex(entry.getKey());
+        values[index] = entry.getValue();
+        present[index] = true;
+      }
+    }
+    if (constructorArgumentIndexes != null) {
+      return createRecord(values, present);
+    }
+    return createBean(values, present);
+  }
+
+  private T createRecord(Object[] values, boolean[] present) {
+    Object[] arguments = new Object[constructorArgumentIndexes.length];
+    for (int i = 0; i < arguments.length; i++) {
+      int index = constructorArgumentIndexes[i];
+      if (present == null || present[index]) {
+        arguments[i] = values[index];
+      } else {
+        arguments[i] =
+            PropertyUtils.getDefaultValueObject(propertyDescriptors[index].getPropertyType());
+      }
+    }
+    try {
+      return constructor.newInstance(arguments);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      throw new ReflectionRuntimeException("Failed to construct an instance of " + type, e);
+    }
+  }
+
+  private T createBean(Object[] values, boolean[] present) {
+    Assert.notNull(constructor, () -> type + " has no default constructor");
+    T bean;
+    try {
+      bean = constructor.newInstance();
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      throw new ReflectionRuntimeException("Failed to construct an instance of " + type, e);
+    }
+    for (int i = 0; i < accessors.length; i++) {
+      if (PropertyUtils.isWritable(propertyDescriptors[i]) && (present == null || present[i])) {
+        accessors[i].write(bean, values[i]);
+      }
+    }
+    return bean;
+  }
+
+  private int getIndex(Object propertyName) {
+    Integer index = indexByPropertyName.get(propertyName);
+    Assert.notNull(
+        index,
+        () ->
+            String.format(
+                "Property '%s' not found for '%s'", propertyName, type.getSimpleName()));
+    return index.intValue();
+  }
+
+  /**
+   * A map with the property names of the plan as fixed key set, backed by an array of values.
+   *
+   * <p>The values can be replaced via {@link #put} or {@link Entry#setValue}, but the key set
+   * cannot change: {@code remove} and {@code clear} throw an {@link
+   * UnsupportedOperationException}, and {@code put} throws an {@link IllegalArgumentException} for
+   * unknown property names.
+   *
+   * <p>The map is serialized as a {@link LinkedHashMap} with the same entries, since the plan it
+   * refers to is not serializable. A deserialized map therefore has no fixed key set.
+   */
+  private static final class PropertyMap extends AbstractMap<String, Object>
+      implements Serializable {
+
+    @Serial private static final long serialVersionUID = 1L;
+
+    private final PropertyMapPlan<?> plan;
+    private final Object[] values;
+
+    private PropertyMap(PropertyMapPlan<?> plan, Object[] values) {
+      this.plan = plan;
+      this.values = values;
+    }
+
+    @Serial
+    private Object writeReplace() {
+      return new LinkedHashMap<>(this);
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return plan.indexByPropertyName.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+      Integer index = plan.indexByPropertyName.get(key);
+      return index != null ? values[index.intValue()] : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+      int index = plan.getIndex(key);
+      Object previousValue = values[index];
+      values[index] = value;
+      return previousValue;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+          return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+              return index < values.length;
+            }
+
+            @Override
+            public Entry<String, Object> next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              return new PropertyEntry(index++);
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return values.length;
+        }
+      };
+    }
+
+    private final class PropertyEntry implements Entry<String, Object> {
+
+      private final int index;
+
+      private PropertyEntry(int index) {
+        this.index = index;
+      }
+
+      @Override
+      public String getKey() {
+        return plan.propertyNames[index];
+      }
+
+      @Override
+      public Object getValue() {
+        return values[index];
+      }
+
+      @Override
+      public Object setValue(Object value) {
+        Object previousValue = values[index];
+        values[index] = value;
+        return previousValue;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+        return o instanceof Entry<?, ?> other
+            && getKey().equals(other.getKey())
+            && Objects.equals(getValue(), other.getValue());
+      }
+
+      @Override
+      public int hashCode() {
+        return getKey().hashCode() ^ Objects.hashCode(getValue());
+      }
+
+      @Override
+      public String toString() {
+        return getKey() + "=" + getValue();
+      }
+    }
+  }
+}
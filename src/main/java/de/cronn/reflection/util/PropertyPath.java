@@ -0,0 +1,134 @@
+package de.cronn.reflection.util;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A nested property such as {@code "address.city.zip"} whose property descriptors and accessor
+ * method handles are resolved once, when the path is compiled.
+ *
+ * <p>Reading returns {@code null} as soon as an intermediate value is {@code null}. Writing can
+ * optionally create missing intermediate objects with their default constructor.
+ */
+public final class PropertyPath<T, V> {
+
+  private final Class<T> rootType;
+  private final PropertyDescriptor[] propertyDescriptors;
+  private final PropertyAccessor[] accessors;
+  private final String path;
+
+  private PropertyPath(Class<T> rootType, PropertyDescriptor[] propertyDescriptors) {
+    this.rootType = rootType;
+    this.propertyDescriptors = propertyDescriptors;
+    this.accessors =
+        Arrays.stream(propertyDescriptors)
+            .map(PropertyAccessor::new)
+            .toArray(PropertyAccessor[]::new);
+    this.path =
+        Arrays.stream(propertyDescriptors)
+            .map(PropertyDescriptor::getName)
+            .collect(Collectors.joining("."));
+  }
+
+  public static <T, V> PropertyPath<T, V> compile(Class<T> rootType, String path) {
+    Assert.isTrue(
+        path != null && !path.isEmpty(), () -> "Property path must not be empty: " + path);
+    return PropertyUtils.getCache(rootType).getPropertyPath(path);
+  }
+
+  static <T, V> PropertyPath<T, V> resolve(Class<T> rootType, String path) {
+    List<PropertyDescriptor> propertyDescriptors = new ArrayList<>();
+    Class<?> type = rootType;
+    for (String propertyName : path.split("\\.", -1)) {
+      PropertyDescriptor propertyDescriptor =
+          PropertyUtils.getPropertyDescriptorByNameOrThrow(type, propertyName);
+      propertyDescriptors.add(propertyDescriptor);
+      type = propertyDescriptor.getPropertyType();
+    }
+    return new PropertyPath<>(rootType, propertyDescriptors.toArray(new PropertyDescriptor[0]));
+  }
+
+  public static <T, V> PropertyPath<T, V> of(
+      Class<T> rootType, TypedPropertyGetter<T, V> propertyGetter) {
+    PropertyDescriptor propertyDescriptor =
+        PropertyUtils.getPropertyDescriptor(rootType, propertyGetter);
+    return new PropertyPath<>(rootType, new PropertyDescriptor[] {propertyDescriptor});
+  }
+
+  public <W> PropertyPath<T, W> then(TypedPropertyGetter<V, W> propertyGetter) {
+    @SuppressWarnings("unchecked")
+    Class<V> valueType = (Class<V>) getLastPropertyDescriptor().getPropertyType();
+    PropertyDescriptor[] extendedPropertyDescriptors =
+        Arrays.copyOf(propertyDescriptors, propertyDescriptors.length + 1);
+    extendedPropertyDescriptors[propertyDescriptors.length] =
+        PropertyUtils.getPropertyDescriptor(valueType, propertyGetter);
+    return new PropertyPath<>(rootType, extendedPropertyDescriptors);
+  }
+
+  public V read(T bean) {
+    Object value = bean;
+    for (int i = 0; i < accessors.length && value != null; i++) {
+      value = accessors[i].read(value);
+    }
+    @SuppressWarnings("unchecked")
+    V result = (V) value;
+    return result;
+  }
+
+  public void write(T bean, V value) {
+    write(bean, value, false);
+  }
+
+  public void write(T bean, V value, boolean createIntermediates) {
+    Assert.notNull(bean, () -> "Bean must not be null");
+    Object parent = bean;
+    for (int i = 0; i < accessors.length - 1; i++) {
+      Object child = accessors[i].read(parent);
+      if (child == null) {
+        if (!createIntermediates) {
+          throw new IllegalArgumentException(
+              "Cannot write " + getQualifiedPath() + ": " + getSubPath(i) + " is null");
+        }
+        child = ClassUtils.createNewInstance(propertyDescriptors[i].getPropertyType());
+        accessors[i].write(parent, child);
+      }
+      parent = child;
+    }
+    accessors[accessors.length - 1].write(parent, value);
+  }
+
+  private PropertyDescriptor getLastPropertyDescriptor() {
+    return propertyDescriptors[propertyDescriptors.length - 1];
+  }
+
+  private String getSubPath(int index) {
+    return Arrays.stream(propertyDescriptors, 0, index + 1)
+        .map(PropertyDescriptor::getName)
+        .collect(Collectors.joining("."));
+  }
+
+  private String getQualifiedPath() {
+    return PropertyUtils.getQualifiedPropertyName(rootType, path);
+  }
+
+  public Class<T> getRootType() {
+    return rootType;
+  }
+
+  public List<PropertyDescriptor> getPropertyDescriptors() {
+    return Collections.unmodifiableList(Arrays.asList(propertyDescriptors));
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  @Override
+  public String toString() {
+    return getQualifiedPath();
+  }
+}
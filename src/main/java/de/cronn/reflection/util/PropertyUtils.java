@@ -8,6 +8,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.LongSummaryStatistics;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Supplier;
@@ -113,11 +117,40 @@ public final class PropertyUtils {
   }
 
   public static <T> boolean hasDefaultValue(T bean, PropertyDescriptor propertyDescriptor) {
+    Class<?> propertyType = propertyDescriptor.getPropertyType();
+    if (propertyType != null && propertyType.isPrimitive() && isReadable(propertyDescriptor)) {
+      return hasDefaultPrimitiveValue(bean, propertyDescriptor, propertyType);
+    }
     Object value = read(bean, propertyDescriptor);
     Class<?> beanClass = ClassUtils.getRealClass(bean);
     return isDefaultValue(beanClass, propertyDescriptor, value);
   }
 
+  private static boolean hasDefaultPrimitiveValue(
+      Object bean, PropertyDescriptor propertyDescriptor, Class<?> propertyType) {
+    PropertyAccessor accessor = getAccessor(bean, propertyDescriptor);
+    Object defaultValue = getDefaultValue(ClassUtils.getRealClass(bean), propertyDescriptor);
+    if (propertyType.equals(int.class)) {
+      int value = accessor.readInt(bean);
+      return value == (int) defaultValue;
+    } else if (propertyType.equals(long.class)) {
+      long value = accessor.readLong(bean);
+      return value == (long) defaultValue;
+    } else if (propertyType.equals(float.class)) {
+      double value = accessor.readDouble(bean);
+      return value == (float) defaultValue;
+    } else if (propertyType.equals(double.class)) {
+      double value = accessor.readDouble(bean);
+      return value == (double) defaultValue;
+    } else if (propertyType.equals(boolean.class)) {
+      boolean value = accessor.readBoolean(bean);
+      return value == (boolean) defaultValue;
+    } else {
+      Object value = read(bean, propertyDescriptor);
+      return Objects.equals(value, defaultValue);
+    }
+  }
+
   public static <T> boolean hasSameValue(T a, T b, PropertyDescriptor propertyDescriptor) {
     Object valueFromA = read(a, propertyDescriptor);
     Object valueFromB = read(b, propertyDescriptor);
@@ -297,6 +330,122 @@ public final class PropertyUtils {
     }
   }
 
+  public static int readInt(Object source, PropertyDescriptor propertyDescriptor) {
+    return getAccessor(source, propertyDescriptor).readInt(source);
+  }
+
+  public static <T> int readInt(T source, TypedPropertyGetter<T, Integer> propertyGetter) {
+    return readInt(source, getPropertyDescriptor(source, propertyGetter));
+  }
+
+  public static long readLong(Object source, PropertyDescriptor propertyDescriptor) {
+    return getAccessor(source, propertyDescriptor).readLong(source);
+  }
+
+  public static <T> long readLong(T source, TypedPropertyGetter<T, Long> propertyGetter) {
+    return readLong(source, getPropertyDescriptor(source, propertyGetter));
+  }
+
+  public static double readDouble(Object source, PropertyDescriptor propertyDescriptor) {
+    return getAccessor(source, propertyDescriptor).readDouble(source);
+  }
+
+  public static <T> double readDouble(T source, TypedPropertyGetter<T, Double> propertyGetter) {
+    return readDouble(source, getPropertyDescriptor(source, propertyGetter));
+  }
+
+  public static boolean readBoolean(Object source, PropertyDescriptor propertyDescriptor) {
+    return getAccessor(source, propertyDescriptor).readBoolean(source);
+  }
+
+  public static <T> boolean readBoolean(T source, TypedPropertyGetter<T, Boolean> propertyGetter) {
+    return readBoolean(source, getPropertyDescriptor(source, propertyGetter));
+  }
+
+  public static void writeInt(
+      Object destination, PropertyDescriptor propertyDescriptor, int value) {
+    getAccessor(destination, propertyDescriptor).writeInt(destination, value);
+  }
+
+  public static <T> void writeInt(
+      T destination, TypedPropertyGetter<T, Integer> propertyGetter, int value) {
+    writeInt(destination, getPropertyDescriptor(destination, propertyGetter), value);
+  }
+
+  public static void writeLong(
+      Object destination, PropertyDescriptor propertyDescriptor, long value) {
+    getAccessor(destination, propertyDescriptor).writeLong(destination, value);
+  }
+
+  public static <T> void writeLong(
+      T destination, TypedPropertyGetter<T, Long> propertyGetter, long value) {
+    writeLong(destination, getPropertyDescriptor(destination, propertyGetter), value);
+  }
+
+  public static void writeDouble(
+      Object destination, PropertyDescriptor propertyDescriptor, double value) {
+    getAccessor(destination, propertyDescriptor).writeDouble(destination, value);
+  }
+
+  public static <T> void writeDouble(
+      T destination, TypedPropertyGetter<T, Double> propertyGetter, double value) {
+    writeDouble(destination, getPropertyDescriptor(destination, propertyGetter), value);
+  }
+
+  public static void writeBoolean(
+      Object destination, PropertyDescriptor propertyDescriptor, boolean value) {
+    getAccessor(destination, propertyDescriptor).writeBoolean(destination, value);
+  }
+
+  public static <T> void writeBoolean(
+      T destination, TypedPropertyGetter<T, Boolean> propertyGetter, boolean value) {
+    writeBoolean(destination, getPropertyDescriptor(destination, propertyGetter), value);
+  }
+
+  private static PropertyAccessor getAccessor(Object bean, PropertyDescriptor propertyDescriptor) {
+    Assert.notNull(bean, () -> "Bean must not be null");
+    return getCache(ClassUtils.getRealClass(bean)).getAccessor(propertyDescriptor);
+  }
+
+  public static Map<String, Object> toMap(Object bean) {
+    Assert.notNull(bean, () -> "Bean must not be null");
+    return getCache(ClassUtils.getRealClass(bean)).getPropertyMapPlan().toMap(bean);
+  }
+
+  public static <T> T fromMap(Class<T> beanClass, Map<String, ?> properties) {
+    return getCache(beanClass).getPropertyMapPlan().fromMap(properties);
+  }
+
+  public static <T> long[] extractLongs(
+      List<? extends T> beans, TypedPropertyGetter<T, Long> propertyGetter) {
+    return NumericPropertyExtractor.extractLongs(beans, propertyGetter);
+  }
+
+  public static <T> int[] extractInts(
+      List<? extends T> beans, TypedPropertyGetter<T, Integer> propertyGetter) {
+    return NumericPropertyExtractor.extractInts(beans, propertyGetter);
+  }
+
+  public static <T> double[] extractDoubles(
+      List<? extends T> beans, TypedPropertyGetter<T, Double> propertyGetter) {
+    return NumericPropertyExtractor.extractDoubles(beans, propertyGetter);
+  }
+
+  public static <T> LongSummaryStatistics summarizeLongs(
+      List<? extends T> beans, TypedPropertyGetter<T, Long> propertyGetter) {
+    return NumericPropertyExtractor.summarizeLongs(beans, propertyGetter);
+  }
+
+  public static <T> IntSummaryStatistics summarizeInts(
+      List<? extends T> beans, TypedPropertyGetter<T, Integer> propertyGetter) {
+    return NumericPropertyExtractor.summarizeInts(beans, propertyGetter);
+  }
+
+  public static <T> DoubleSummaryStatistics summarizeDoubles(
+      List<? extends T> beans, TypedPropertyGetter<T, Double> propertyGetter) {
+    return NumericPropertyExtractor.summarizeDoubles(beans, propertyGetter);
+  }
+
   public static <T> T readProperty(
       Object entity, PropertyDescriptor propertyDescriptor, Class<T> expectedType) {
     Class<?> clazz = ClassUtils.getRealClass(entity);
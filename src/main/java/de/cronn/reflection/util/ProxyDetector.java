@@ -0,0 +1,14 @@
+package de.cronn.reflection.util;
+
+/**
+ * Detects proxy classes of frameworks that are not known to {@link ClassUtils}.
+ *
+ * <p>Implementations are discovered via {@link java.util.ServiceLoader} or can be registered with
+ * {@link ClassUtils#registerProxyDetector(ProxyDetector)}. A detected proxy class must be a direct
+ * subclass of the proxied class.
+ */
+@FunctionalInterface
+public interface ProxyDetector {
+
+  boolean isProxyClass(Class<?> clazz);
+}
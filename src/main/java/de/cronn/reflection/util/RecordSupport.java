@@ -14,6 +14,7 @@ import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import net.bytebuddy.ByteBuddy;
@@ -23,14 +24,14 @@ import org.objenesis.ObjenesisHelper;
 
 final class RecordSupport {
 
-  private static final ClassValue<Class<?>> dummySubclasses =
-      ClassValues.create(RecordSupport::createDummyProxyClass);
+  private static final ClassValue<Supplier<Class<?>>> dummySubclasses =
+      ClassValues.createComputedOnce(RecordSupport::createDummyProxyClass);
 
   private RecordSupport() {}
 
   private static Class<?> createDummyProxyClass(Class<?> type) {
     try (DynamicType.Unloaded<?> unloadedType = new ByteBuddy().subclass(type).make()) {
-      return unloadedType.load(RecordSupport.class.getClassLoader()).getLoaded();
+      return GeneratedClasses.load(unloadedType, type, RecordSupport.class);
     }
   }
 
@@ -121,7 +122,7 @@ final class RecordSupport {
           return getDummyObjectInstance(permittedSubclass);
         }
       }
-      Class<?> dummyClass = dummySubclasses.get(type);
+      Class<?> dummyClass = dummySubclasses.get(type).get();
       return ObjenesisHelper.newInstance(dummyClass);
     }
     return ObjenesisHelper.newInstance(type);
@@ -6,17 +6,12 @@ import java.util.function.Function;
 
 public final class RecordUtils {
 
-  private static final ClassValue<Boolean> recordImmutabilityCache =
-      ClassValues.create(
-          recordClass -> {
-            return RecordSupport.getRecordComponents(recordClass)
-                .allMatch(recordComponent -> ImmutableProxy.isImmutable(recordComponent.getType()));
-          });
-
   private RecordUtils() {}
 
   public static boolean hasOnlyImmutableRecordComponents(Class<?> recordClass) {
-    return recordImmutabilityCache.get(recordClass);
+    // not cached here since ImmutableProxy.isImmutable caches the result per record class
+    return RecordSupport.getRecordComponents(recordClass)
+        .allMatch(recordComponent -> ImmutableProxy.isImmutable(recordComponent.getType()));
   }
 
   public static <T> T cloneRecord(T record, Function<Object, Object> valueMapping) {
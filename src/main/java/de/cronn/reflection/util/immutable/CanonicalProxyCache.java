@@ -0,0 +1,141 @@
+package de.cronn.reflection.util.immutable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+final class CanonicalProxyCache {
+
+  private final Map<Object, WeakReference<Object>> proxies = new ConcurrentHashMap<>();
+  private final ReferenceQueue<Object> collectedDelegates = new ReferenceQueue<>();
+
+  <T> T getOrCreate(T delegate, ImmutableProxyOption[] options, Supplier<T> proxyFactory) {
+    expungeCollectedDelegates();
+    int optionsMask = toMask(options);
+    WeakReference<Object> existingReference = proxies.get(new LookupKey(delegate, optionsMask));
+    T existingProxy = dereference(existingReference);
+    if (existingProxy != null) {
+      return existingProxy;
+    }
+    T newProxy = proxyFactory.get();
+    WeakReference<Object> reference =
+        proxies.compute(
+            new WeakKey(delegate, optionsMask, collectedDelegates),
+            (key, existing) -> {
+              if (existing != null && existing.get() != null) {
+                return existing;
+              }
+              return new WeakReference<>(newProxy);
+            });
+    T proxy = dereference(reference);
+    return proxy != null ? proxy : newProxy;
+  }
+
+  int size() {
+    expungeCollectedDelegates();
+    return proxies.size();
+  }
+
+  private void expungeCollectedDelegates() {
+    Reference<?> reference;
+    while ((reference = collectedDelegates.poll()) != null) {
+      proxies.remove(reference);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T dereference(WeakReference<Object> reference) {
+    return reference != null ? (T) reference.get() : null;
+  }
+
+  private static int toMask(ImmutableProxyOption[] options) {
+    int mask = 0;
+    if (options != null) {
+      for (ImmutableProxyOption option : options) {
+        mask |= 1 << option.ordinal();
+      }
+    }
+    return mask;
+  }
+
+  private interface Key {
+    Object getDelegate();
+
+    int getOptionsMask();
+
+    static boolean isSameKey(Key key, Object other) {
+      if (key == other) {
+        return true;
+      }
+      if (!(other instanceof Key otherKey)) {
+        return false;
+      }
+      Object delegate = key.getDelegate();
+      return delegate != null
+          && delegate == otherKey.getDelegate()
+          && key.getOptionsMask() == otherKey.getOptionsMask();
+    }
+
+    static int hashCode(Object delegate, int optionsMask) {
+      return 31 * System.identityHashCode(delegate) + optionsMask;
+    }
+  }
+
+  private static final class WeakKey extends WeakReference<Object> implements Key {
+
+    private final int optionsMask;
+    private final int hashCode;
+
+    WeakKey(Object delegate, int optionsMask, ReferenceQueue<Object> queue) {
+      super(delegate, queue);
+      this.optionsMask = optionsMask;
+      this.hashCode = Key.hashCode(delegate, optionsMask);
+    }
+
+    @Override
+    public Object getDelegate() {
+      return get();
+    }
+
+    @Override
+    public int getOptionsMask() {
+      return optionsMask;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return Key.isSameKey(this, other);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  private record LookupKey(Object delegate, int optionsMask) implements Key {
+
+    @Override
+    public Object getDelegate() {
+      return delegate;
+    }
+
+    @Override
+    public int getOptionsMask() {
+      return optionsMask;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return Key.isSameKey(this, other);
+    }
+
+    @Override
+    public int hashCode() {
+      return Key.hashCode(delegate, optionsMask);
+    }
+  }
+}
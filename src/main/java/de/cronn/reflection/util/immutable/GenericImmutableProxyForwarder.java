@@ -1,12 +1,25 @@
 package de.cronn.reflection.util.immutable;
 
 import de.cronn.reflection.util.ClassUtils;
+import de.cronn.reflection.util.ClassValues;
+import de.cronn.reflection.util.immutable.collection.DeepImmutableDeque;
+import de.cronn.reflection.util.immutable.collection.DeepImmutableQueue;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Queue;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
 import java.util.concurrent.ConcurrentHashMap;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.implementation.bind.annotation.AllArguments;
@@ -17,7 +30,15 @@ import net.bytebuddy.matcher.ElementMatchers;
 
 public final class GenericImmutableProxyForwarder {
 
-  private static final Map<Method, Boolean> shouldProxyReturnValueCache = new ConcurrentHashMap<>();
+  // depends on the immutable types, so it is replaced when an immutable type is registered
+  private static volatile ClassValue<Map<Method, ReturnValueHandling>> returnValueHandlingCache =
+      createReturnValueHandlingCache();
+
+  private enum ReturnValueHandling {
+    RETURN_AS_IS,
+    PROXY,
+    PROXY_WITH_IMMUTABLE_ELEMENTS,
+  }
 
   private GenericImmutableProxyForwarder() {}
 
@@ -32,9 +53,27 @@ public final class GenericImmutableProxyForwarder {
     if (ImmutableProxy.isImmutable(value)) {
       return value;
     }
-    if (!shouldProxyReturnValue(method)) {
+    ReturnValueHandling returnValueHandling = getReturnValueHandling(method);
+    if (returnValueHandling == ReturnValueHandling.RETURN_AS_IS) {
+      return value;
+    }
+    if (returnValueHandling == ReturnValueHandling.PROXY_WITH_IMMUTABLE_ELEMENTS) {
+      if (ImmutableProxy.isUnmodifiableCollection(value)) {
+        return value;
+      }
+      // there is nothing worth caching if the elements are returned as they are
+      options = withOption(options, ImmutableProxyOption.NO_ELEMENT_CACHE);
+    }
+    if (ImmutableProxyOption.SNAPSHOT.isEnabledIn(options)
+        && ImmutableProxy.isUnmodifiableCollection(value)) {
+      // collections of a snapshot are already frozen
       return value;
     }
+    if (ImmutableProxyOption.SNAPSHOT.isEnabledIn(options)
+        && ImmutableSnapshot.isPrivateCopy(value)) {
+      // the private copies of a snapshot are never modified, so they only need an immutable view
+      options = ImmutableSnapshot.withoutSnapshotOption(options);
+    }
     if (value instanceof Collection) {
       return createImmutableCollection(value, method, options);
     } else if (value instanceof Map) {
@@ -44,19 +83,76 @@ public final class GenericImmutableProxyForwarder {
     }
   }
 
-  @SuppressWarnings("boxing")
+  static void resetReturnValueHandlingCache() {
+    returnValueHandlingCache = createReturnValueHandlingCache();
+  }
+
+  private static ClassValue<Map<Method, ReturnValueHandling>> createReturnValueHandlingCache() {
+    return ClassValues.create(type -> new ConcurrentHashMap<>());
+  }
+
+  private static ReturnValueHandling getReturnValueHandling(Method method) {
+    return returnValueHandlingCache
+        .get(method.getDeclaringClass())
+        .computeIfAbsent(method, GenericImmutableProxyForwarder::determineReturnValueHandling);
+  }
+
+  private static ReturnValueHandling determineReturnValueHandling(Method method) {
+    if (!shouldProxyReturnValue(method)) {
+      return ReturnValueHandling.RETURN_AS_IS;
+    }
+    if (hasImmutableElementTypes(method)) {
+      return ReturnValueHandling.PROXY_WITH_IMMUTABLE_ELEMENTS;
+    }
+    return ReturnValueHandling.PROXY;
+  }
+
   private static boolean shouldProxyReturnValue(Method method) {
-    return shouldProxyReturnValueCache
-        .computeIfAbsent(
-            method,
-            m -> {
-              if (isCloneMethod(m)) {
-                return false;
-              }
-              ReadOnly readOnlyAnnotation = ClassUtils.findAnnotation(m, ReadOnly.class);
-              return readOnlyAnnotation == null || readOnlyAnnotation.proxyReturnValue();
-            })
-        .booleanValue();
+    if (isCloneMethod(method)) {
+      return false;
+    }
+    ReadOnly readOnlyAnnotation = ClassUtils.findAnnotation(method, ReadOnly.class);
+    return readOnlyAnnotation == null || readOnlyAnnotation.proxyReturnValue();
+  }
+
+  private static boolean hasImmutableElementTypes(Method method) {
+    Class<?> returnType = method.getReturnType();
+    if (!Iterable.class.isAssignableFrom(returnType) && !Map.class.isAssignableFrom(returnType)) {
+      return false;
+    }
+    if (!(method.getGenericReturnType() instanceof ParameterizedType parameterizedType)) {
+      return false;
+    }
+    for (Type typeArgument : parameterizedType.getActualTypeArguments()) {
+      if (!isImmutableType(typeArgument)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isImmutableType(Type type) {
+    if (type instanceof Class<?> clazz) {
+      return ImmutableProxy.isImmutable(clazz);
+    } else if (type instanceof WildcardType wildcardType) {
+      Type[] upperBounds = wildcardType.getUpperBounds();
+      return upperBounds.length == 1 && isImmutableType(upperBounds[0]);
+    } else {
+      return false;
+    }
+  }
+
+  private static ImmutableProxyOption[] withOption(
+      ImmutableProxyOption[] options, ImmutableProxyOption option) {
+    if (option.isEnabledIn(options)) {
+      return options;
+    }
+    if (options == null) {
+      return new ImmutableProxyOption[] {option};
+    }
+    ImmutableProxyOption[] result = Arrays.copyOf(options, options.length + 1);
+    result[options.length] = option;
+    return result;
   }
 
   private static boolean isCloneMethod(Method method) {
@@ -66,12 +162,24 @@ public final class GenericImmutableProxyForwarder {
   private static Object createImmutableCollection(
       Object value, Method method, ImmutableProxyOption[] options) {
     Class<?> returnType = method.getReturnType();
-    if (returnType.equals(Set.class)) {
+    if (returnType.equals(NavigableSet.class)) {
+      NavigableSet<?> collection = (NavigableSet<?>) value;
+      return ImmutableProxy.create(collection, options);
+    } else if (returnType.equals(SortedSet.class)) {
+      SortedSet<?> collection = (SortedSet<?>) value;
+      return ImmutableProxy.create(collection, options);
+    } else if (returnType.equals(Set.class)) {
       Set<?> collection = (Set<?>) value;
       return ImmutableProxy.create(collection, options);
     } else if (returnType.equals(List.class)) {
       List<?> collection = (List<?>) value;
       return ImmutableProxy.create(collection, options);
+    } else if (returnType.equals(Deque.class)) {
+      Deque<?> collection = (Deque<?>) value;
+      return new DeepImmutableDeque<>(collection, options);
+    } else if (returnType.equals(Queue.class)) {
+      Queue<?> collection = (Queue<?>) value;
+      return new DeepImmutableQueue<>(collection, options);
     } else if (returnType.equals(Collection.class) || returnType.equals(Iterable.class)) {
       Collection<?> collection = (Collection<?>) value;
       return ImmutableProxy.create(collection, options);
@@ -83,14 +191,21 @@ public final class GenericImmutableProxyForwarder {
               + " The return type is unknown or too specific: "
               + returnType
               + "."
-              + " Consider to define a more generic type: Set/List/Collection");
+              + " Consider to define a more generic type:"
+              + " Set/SortedSet/NavigableSet/List/Queue/Deque/Collection");
     }
   }
 
   private static Object createImmutableMap(
       Object value, Method method, ImmutableProxyOption[] options) {
     Class<?> returnType = method.getReturnType();
-    if (returnType.equals(Map.class)) {
+    if (returnType.equals(NavigableMap.class)) {
+      NavigableMap<?, ?> map = (NavigableMap<?, ?>) value;
+      return ImmutableProxy.create(map, options);
+    } else if (returnType.equals(SortedMap.class)) {
+      SortedMap<?, ?> map = (SortedMap<?, ?>) value;
+      return ImmutableProxy.create(map, options);
+    } else if (returnType.equals(Map.class)) {
       Map<?, ?> map = (Map<?, ?>) value;
       return ImmutableProxy.create(map, options);
     } else {
@@ -101,7 +216,7 @@ public final class GenericImmutableProxyForwarder {
               + " The return type is unknown or too specific: "
               + returnType
               + "."
-              + " Consider to define a more generic type: Map");
+              + " Consider to define a more generic type: Map/SortedMap/NavigableMap");
     }
   }
 
@@ -4,12 +4,20 @@ import static net.bytebuddy.matcher.ElementMatchers.*;
 
 import de.cronn.reflection.util.ClassUtils;
 import de.cronn.reflection.util.ClassValues;
+import de.cronn.reflection.util.GeneratedClasses;
 import de.cronn.reflection.util.PropertyUtils;
 import de.cronn.reflection.util.RecordUtils;
 import de.cronn.reflection.util.immutable.collection.DeepImmutableCollection;
+import de.cronn.reflection.util.immutable.collection.DeepImmutableDeque;
 import de.cronn.reflection.util.immutable.collection.DeepImmutableList;
 import de.cronn.reflection.util.immutable.collection.DeepImmutableMap;
+import de.cronn.reflection.util.immutable.collection.DeepImmutableNavigableMap;
+import de.cronn.reflection.util.immutable.collection.DeepImmutableNavigableSet;
+import de.cronn.reflection.util.immutable.collection.DeepImmutableQueue;
+import de.cronn.reflection.util.immutable.collection.DeepImmutableRandomAccessList;
 import de.cronn.reflection.util.immutable.collection.DeepImmutableSet;
+import de.cronn.reflection.util.immutable.collection.DeepImmutableSortedMap;
+import de.cronn.reflection.util.immutable.collection.DeepImmutableSortedSet;
 import java.io.File;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
@@ -20,21 +28,37 @@ import java.nio.file.Path;
 import java.time.temporal.Temporal;
 import java.time.temporal.TemporalAmount;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
 import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.method.MethodDescription.SignatureToken;
-import net.bytebuddy.description.type.TypeDefinition;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.implementation.ExceptionMethod;
 import net.bytebuddy.implementation.MethodDelegation;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatcher.Junction;
-import net.bytebuddy.matcher.ElementMatchers;
 import org.jetbrains.annotations.UnmodifiableView;
 import org.jetbrains.annotations.VisibleForTesting;
 import org.objenesis.ObjenesisHelper;
@@ -44,14 +68,26 @@ public final class ImmutableProxy {
   static final String DELEGATE_FIELD_NAME = "$delegate";
   static final String OPTIONS = "$options";
 
-  private static final ClassValue<Class<?>> immutableProxyClassCache =
-      ClassValues.create(ImmutableProxy::createProxyClass);
+  private static final ClassValue<Supplier<Class<?>>> immutableProxyClassCache =
+      ClassValues.createComputedOnce(ImmutableProxy::createProxyClass);
+
+  private static final CanonicalProxyCache canonicalProxyCache = new CanonicalProxyCache();
+
+  private static final Set<Class<?>> registeredImmutableTypes =
+      Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+  private static final ClassValue<Boolean> unmodifiableCollectionClassCache =
+      ClassValues.create(ImmutableProxy::isUnmodifiableCollectionClass);
+
+  private static volatile ClassValue<Boolean> immutableTypeCache = createImmutableTypeCache();
 
   private ImmutableProxy() {}
 
   public static <T> T create(T instance, ImmutableProxyOption... options) {
     if (isImmutable(instance)) {
       return instance;
+    } else if (isOptionEnabled(options, ImmutableProxyOption.SNAPSHOT)) {
+      return ImmutableSnapshot.of(instance, options);
     } else if (instance instanceof List) {
       @SuppressWarnings("unchecked")
       T immutableList = (T) create((List<?>) instance, options);
@@ -78,6 +114,14 @@ public final class ImmutableProxy {
                 + ") to enable cloning of such records.");
       }
     }
+    if (isOptionEnabled(options, ImmutableProxyOption.CANONICAL_PROXIES)) {
+      return canonicalProxyCache.getOrCreate(
+          instance, options, () -> createProxy(instance, options));
+    }
+    return createProxy(instance, options);
+  }
+
+  static <T> T createProxy(T instance, ImmutableProxyOption[] options) {
     Class<? extends T> proxyClass = getOrCreateProxyClass(instance);
     T proxy = ObjenesisHelper.newInstance(proxyClass);
     PropertyUtils.writeDirectly(proxy, DELEGATE_FIELD_NAME, instance);
@@ -90,24 +134,147 @@ public final class ImmutableProxy {
   @UnmodifiableView
   public static <T> Collection<T> create(
       Collection<T> collection, ImmutableProxyOption... options) {
+    if (isOptionEnabled(options, ImmutableProxyOption.SNAPSHOT)) {
+      return ImmutableSnapshot.of(collection, options);
+    } else if (collection instanceof Deque<T> deque) {
+      return new DeepImmutableDeque<>(deque, options);
+    } else if (collection instanceof Queue<T> queue) {
+      return new DeepImmutableQueue<>(queue, options);
+    }
     return new DeepImmutableCollection<>(collection, options);
   }
 
   @UnmodifiableView
   public static <T> List<T> create(List<T> list, ImmutableProxyOption... options) {
+    if (isOptionEnabled(options, ImmutableProxyOption.SNAPSHOT)) {
+      return ImmutableSnapshot.of(list, options);
+    } else if (list instanceof RandomAccess) {
+      return new DeepImmutableRandomAccessList<>(list, options);
+    }
     return new DeepImmutableList<>(list, options);
   }
 
   @UnmodifiableView
   public static <T> Set<T> create(Set<T> set, ImmutableProxyOption... options) {
+    if (isOptionEnabled(options, ImmutableProxyOption.SNAPSHOT)) {
+      return ImmutableSnapshot.of(set, options);
+    } else if (set instanceof SortedSet<T> sortedSet) {
+      return create(sortedSet, options);
+    }
     return new DeepImmutableSet<>(set, options);
   }
 
+  @UnmodifiableView
+  public static <T> SortedSet<T> create(SortedSet<T> sortedSet, ImmutableProxyOption... options) {
+    if (isOptionEnabled(options, ImmutableProxyOption.SNAPSHOT)) {
+      return ImmutableSnapshot.of(sortedSet, options);
+    } else if (sortedSet instanceof NavigableSet<T> navigableSet) {
+      return new DeepImmutableNavigableSet<>(navigableSet, options);
+    }
+    return new DeepImmutableSortedSet<>(sortedSet, options);
+  }
+
+  @UnmodifiableView
+  public static <T> NavigableSet<T> create(
+      NavigableSet<T> navigableSet, ImmutableProxyOption... options) {
+    if (isOptionEnabled(options, ImmutableProxyOption.SNAPSHOT)) {
+      return ImmutableSnapshot.of(navigableSet, options);
+    }
+    return new DeepImmutableNavigableSet<>(navigableSet, options);
+  }
+
   @UnmodifiableView
   public static <K, V> Map<K, V> create(Map<K, V> map, ImmutableProxyOption... options) {
+    if (isOptionEnabled(options, ImmutableProxyOption.SNAPSHOT)) {
+      return ImmutableSnapshot.of(map, options);
+    } else if (map instanceof SortedMap<K, V> sortedMap) {
+      return create(sortedMap, options);
+    }
     return new DeepImmutableMap<>(map, options);
   }
 
+  @UnmodifiableView
+  public static <K, V> SortedMap<K, V> create(
+      SortedMap<K, V> sortedMap, ImmutableProxyOption... options) {
+    if (isOptionEnabled(options, ImmutableProxyOption.SNAPSHOT)) {
+      return ImmutableSnapshot.of(sortedMap, options);
+    } else if (sortedMap instanceof NavigableMap<K, V> navigableMap) {
+      return new DeepImmutableNavigableMap<>(navigableMap, options);
+    }
+    return new DeepImmutableSortedMap<>(sortedMap, options);
+  }
+
+  @UnmodifiableView
+  public static <K, V> NavigableMap<K, V> create(
+      NavigableMap<K, V> navigableMap, ImmutableProxyOption... options) {
+    if (isOptionEnabled(options, ImmutableProxyOption.SNAPSHOT)) {
+      return ImmutableSnapshot.of(navigableMap, options);
+    }
+    return new DeepImmutableNavigableMap<>(navigableMap, options);
+  }
+
+  /**
+   * Generates the immutable proxy classes of the given class and of all classes reachable via its
+   * properties. A class that cannot be proxied does not stop the generation of the other classes:
+   * the returned future completes when all classes were processed, exceptionally with an {@link
+   * IllegalArgumentException} that lists the failed classes if there were any.
+   */
+  public static CompletableFuture<Void> prepare(Class<?> root, Executor executor) {
+    Objects.requireNonNull(executor);
+    Set<Class<?>> types = ImmutableProxyClassCollector.collect(root);
+    Map<Class<?>, Throwable> failures = new ConcurrentHashMap<>();
+    CompletableFuture<?>[] proxyClassGenerations =
+        types.stream()
+            .map(
+                type ->
+                    CompletableFuture.runAsync(
+                            () -> immutableProxyClassCache.get(type).get(), executor)
+                        .exceptionally(
+                            e -> {
+                              failures.put(type, unwrapCompletionException(e));
+                              return null;
+                            }))
+            .toArray(CompletableFuture[]::new);
+    return CompletableFuture.allOf(proxyClassGenerations)
+        .thenRun(
+            () -> {
+              if (!failures.isEmpty()) {
+                throw prepareFailure(root, types, failures);
+              }
+            });
+  }
+
+  private static Throwable unwrapCompletionException(Throwable e) {
+    return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+  }
+
+  private static IllegalArgumentException prepareFailure(
+      Class<?> root, Set<Class<?>> types, Map<Class<?>, Throwable> failures) {
+    List<Class<?>> failedTypes = types.stream().filter(failures::containsKey).toList();
+    IllegalArgumentException exception =
+        new IllegalArgumentException(
+            "Failed to prepare the immutable proxy classes of "
+                + root
+                + " for "
+                + failedTypes.stream().map(Class::getName).collect(Collectors.joining(", ")),
+            failures.get(failedTypes.get(0)));
+    for (Class<?> failedType : failedTypes.subList(1, failedTypes.size())) {
+      exception.addSuppressed(failures.get(failedType));
+    }
+    return exception;
+  }
+
+  public static <T> void forEachReadOnly(
+      Iterable<T> iterable, Consumer<? super T> action, ImmutableProxyOption... options) {
+    if (iterable instanceof DeepImmutableCollection<T> immutableCollection) {
+      immutableCollection.forEachReadOnly(action);
+    } else {
+      Objects.requireNonNull(action);
+      ImmutableProxyCursor cursor = new ImmutableProxyCursor(options);
+      iterable.forEach(element -> action.accept(cursor.moveTo(element)));
+    }
+  }
+
   public static <T> T unwrap(T immutableProxy) {
     if (!isImmutableProxy(immutableProxy)) {
       return immutableProxy;
@@ -124,6 +291,22 @@ public final class ImmutableProxy {
   }
 
   public static boolean isImmutable(Class<?> type) {
+    return immutableTypeCache.get(type).booleanValue();
+  }
+
+  public static void registerImmutableType(Class<?> type) {
+    Objects.requireNonNull(type);
+    if (registeredImmutableTypes.add(type)) {
+      immutableTypeCache = createImmutableTypeCache();
+      GenericImmutableProxyForwarder.resetReturnValueHandlingCache();
+    }
+  }
+
+  private static ClassValue<Boolean> createImmutableTypeCache() {
+    return ClassValues.create(ImmutableProxy::determineImmutable);
+  }
+
+  private static boolean determineImmutable(Class<?> type) {
     if (isImmutableProxyClass(type)) {
       return true;
     } else if (String.class.isAssignableFrom(type)) {
@@ -160,6 +343,8 @@ public final class ImmutableProxy {
       return true;
     } else if (isEnumType(type)) {
       return true;
+    } else if (isRegisteredImmutableType(type)) {
+      return true;
     } else if (type.isRecord()) {
       return RecordUtils.hasOnlyImmutableRecordComponents(type);
     } else {
@@ -167,6 +352,20 @@ public final class ImmutableProxy {
     }
   }
 
+  private static boolean isRegisteredImmutableType(Class<?> type) {
+    if (type.isAnnotationPresent(ImmutableType.class)) {
+      return true;
+    }
+    synchronized (registeredImmutableTypes) {
+      for (Class<?> registeredType : registeredImmutableTypes) {
+        if (registeredType.isAssignableFrom(type)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   private static boolean isEnumType(Class<?> type) {
     return type.isEnum() || (type.getSuperclass() != null && type.getSuperclass().isEnum());
   }
@@ -174,11 +373,12 @@ public final class ImmutableProxy {
   @SuppressWarnings("unchecked")
   private static <T> Class<? extends T> getOrCreateProxyClass(T instance) {
     Class<T> realClass = ClassUtils.getRealClass(instance);
-    return (Class<? extends T>) immutableProxyClassCache.get(realClass);
+    return (Class<? extends T>) immutableProxyClassCache.get(realClass).get();
   }
 
   private static <T> Class<? extends T> createProxyClass(Class<T> clazz) {
     assertPublicMethodsAreNotFinal(clazz);
+    Junction<MethodDescription> readOnlyMethod = isReadOnlyMethod(clazz);
     try (DynamicType.Unloaded<T> unloadedType =
         new ByteBuddy()
             .subclass(clazz)
@@ -193,18 +393,18 @@ public final class ImmutableProxy {
                         + " Annotate the method with @"
                         + ReadOnly.class.getSimpleName()
                         + " if this is a false-positive."))
-            .method(isReadOnlyMethod())
+            .method(readOnlyMethod)
             .intercept(MethodDelegation.to(GenericImmutableProxyForwarder.class))
-            .method(isReadOnlyMethod().and(returns(Long.class).or(returns(long.class))))
+            .method(readOnlyMethod.and(returns(Long.class).or(returns(long.class))))
             .intercept(MethodDelegation.to(ImmutableProxyForwarderLong.class))
-            .method(isReadOnlyMethod().and(returns(Integer.class).or(returns(int.class))))
+            .method(readOnlyMethod.and(returns(Integer.class).or(returns(int.class))))
             .intercept(MethodDelegation.to(ImmutableProxyForwarderInteger.class))
-            .method(isReadOnlyMethod().and(returns(Boolean.class).or(returns(boolean.class))))
+            .method(readOnlyMethod.and(returns(Boolean.class).or(returns(boolean.class))))
             .intercept(MethodDelegation.to(ImmutableProxyForwarderBoolean.class))
-            .method(isReadOnlyMethod().and(returns(String.class)))
+            .method(readOnlyMethod.and(returns(String.class)))
             .intercept(MethodDelegation.to(ImmutableProxyForwarderString.class))
             .make()) {
-      return unloadedType.load(ImmutableProxy.class.getClassLoader()).getLoaded();
+      return GeneratedClasses.load(unloadedType, clazz, ImmutableProxy.class);
     }
   }
 
@@ -253,7 +453,7 @@ public final class ImmutableProxy {
     return method.getName().equals("clone") && method.getParameterCount() == 0;
   }
 
-  private static Junction<MethodDescription> isReadOnlyMethod() {
+  private static Junction<MethodDescription> isReadOnlyMethod(Class<?> clazz) {
     return not(isSetter())
         .and(
             isGetter()
@@ -262,51 +462,45 @@ public final class ImmutableProxy {
                 .or(isToString())
                 .or(isClone())
                 .or(isDeclaredBy(Object.class))
-                .or(isAnnotatedWith(ReadOnly.class)));
+                .or(isAnnotatedWith(clazz, ReadOnly.class)));
   }
 
   private static ElementMatcher<MethodDescription> isAnnotatedWith(
-      Class<? extends Annotation> annotation) {
+      Class<?> clazz, Class<? extends Annotation> annotation) {
+    Set<String> annotatedMethods =
+        ClassUtils.findAnnotations(clazz, annotation).keySet().stream()
+            .map(
+                method ->
+                    toSignatureString(
+                        method.getName(),
+                        Stream.of(method.getParameterTypes()).map(Class::getName)))
+            .collect(Collectors.toSet());
     return target -> {
-      TypeDefinition type = target.getDeclaringType();
       SignatureToken methodSignature = target.asSignatureToken();
-      return isAnnotatedWith(methodSignature, type, annotation);
+      return annotatedMethods.contains(
+          toSignatureString(
+              methodSignature.getName(),
+              methodSignature.getParameterTypes().stream().map(TypeDescription::getName)));
     };
   }
 
-  private static boolean isAnnotatedWith(
-      SignatureToken methodSignature, TypeDefinition type, Class<? extends Annotation> annotation) {
-    if (type == null || type.equals(TypeDescription.ForLoadedType.of(Object.class))) {
-      return false;
-    }
-
-    if (hasMethodAnnotatedWith(methodSignature, type, annotation)) {
-      return true;
-    }
-
-    Iterable<? extends TypeDefinition> interfaces = type.getInterfaces();
-    for (TypeDefinition interfaceType : interfaces) {
-      if (hasMethodAnnotatedWith(methodSignature, interfaceType, annotation)) {
-        return true;
-      }
-      for (TypeDescription.Generic interfaceSuperclass : interfaceType.getInterfaces()) {
-        if (isAnnotatedWith(methodSignature, interfaceSuperclass, annotation)) {
-          return true;
-        }
-      }
-    }
+  private static String toSignatureString(String methodName, Stream<String> parameterTypeNames) {
+    return parameterTypeNames.collect(Collectors.joining(",", methodName + "(", ")"));
+  }
 
-    return isAnnotatedWith(methodSignature, type.getSuperClass(), annotation);
+  static boolean isUnmodifiableCollection(Object value) {
+    return value != null && unmodifiableCollectionClassCache.get(value.getClass()).booleanValue();
   }
 
-  private static boolean hasMethodAnnotatedWith(
-      SignatureToken methodSignature, TypeDefinition type, Class<? extends Annotation> annotation) {
-    return !type.getDeclaredMethods()
-        .filter(
-            hasMethodName(methodSignature.getName())
-                .and(takesArguments(methodSignature.getParameterTypes()))
-                .and(ElementMatchers.isAnnotatedWith(annotation)))
-        .isEmpty();
+  private static boolean isUnmodifiableCollectionClass(Class<?> type) {
+    if (!Collection.class.isAssignableFrom(type) && !Map.class.isAssignableFrom(type)) {
+      return false;
+    }
+    String className = type.getName();
+    return className.startsWith("java.util.ImmutableCollections$")
+        || className.startsWith("java.util.Collections$Unmodifiable")
+        || className.startsWith("java.util.Collections$Empty")
+        || className.startsWith("java.util.Collections$Singleton");
   }
 
   public static boolean isImmutableProxy(Object object) {
@@ -325,16 +519,13 @@ public final class ImmutableProxy {
     immutableProxyClassCache.remove(type);
   }
 
+  @VisibleForTesting
+  static int getCanonicalProxyCacheSize() {
+    return canonicalProxyCache.size();
+  }
+
   private static boolean isOptionEnabled(
       ImmutableProxyOption[] options, ImmutableProxyOption optionToTest) {
-    if (options == null) {
-      return false;
-    }
-    for (ImmutableProxyOption option : options) {
-      if (option == optionToTest) {
-        return true;
-      }
-    }
-    return false;
+    return optionToTest.isEnabledIn(options);
   }
 }
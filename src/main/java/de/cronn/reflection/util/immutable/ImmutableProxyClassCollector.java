@@ -0,0 +1,90 @@
+package de.cronn.reflection.util.immutable;
+
+import de.cronn.reflection.util.PropertyUtils;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+class ImmutableProxyClassCollector {
+
+  private final Set<Type> visitedTypes = new HashSet<>();
+  private final Set<Class<?>> proxyClasses = new LinkedHashSet<>();
+
+  static Set<Class<?>> collect(Class<?> root) {
+    ImmutableProxyClassCollector collector = new ImmutableProxyClassCollector();
+    collector.visit(root);
+    return collector.proxyClasses;
+  }
+
+  private void visit(Type type) {
+    if (!visitedTypes.add(type)) {
+      return;
+    }
+    if (type instanceof Class<?> clazz) {
+      visitClass(clazz);
+    } else if (type instanceof ParameterizedType parameterizedType) {
+      visit(parameterizedType.getRawType());
+      for (Type typeArgument : parameterizedType.getActualTypeArguments()) {
+        visit(typeArgument);
+      }
+    } else if (type instanceof WildcardType wildcardType) {
+      for (Type upperBound : wildcardType.getUpperBounds()) {
+        visit(upperBound);
+      }
+    } else if (type instanceof TypeVariable<?> typeVariable) {
+      for (Type bound : typeVariable.getBounds()) {
+        visit(bound);
+      }
+    }
+  }
+
+  private void visitClass(Class<?> clazz) {
+    if (clazz.isPrimitive() || clazz.isArray() || ImmutableProxy.isImmutable(clazz)) {
+      return;
+    }
+    if (Iterable.class.isAssignableFrom(clazz) || Map.class.isAssignableFrom(clazz)) {
+      // wrapped in deep immutable collections, the element types are visited via the type arguments
+      return;
+    }
+    if (clazz.isRecord()) {
+      for (RecordComponent recordComponent : clazz.getRecordComponents()) {
+        visit(recordComponent.getGenericType());
+      }
+      return;
+    }
+    if (isProxiable(clazz)) {
+      proxyClasses.add(clazz);
+    }
+    if (isJdkClass(clazz)) {
+      return;
+    }
+    for (PropertyDescriptor propertyDescriptor : PropertyUtils.getPropertyDescriptors(clazz)) {
+      Method readMethod = propertyDescriptor.getReadMethod();
+      if (readMethod != null) {
+        visit(readMethod.getGenericReturnType());
+      }
+    }
+  }
+
+  private static boolean isProxiable(Class<?> clazz) {
+    int modifiers = clazz.getModifiers();
+    return !clazz.isInterface()
+        && !Modifier.isAbstract(modifiers)
+        && !Modifier.isFinal(modifiers)
+        && !clazz.equals(Object.class);
+  }
+
+  private static boolean isJdkClass(Class<?> clazz) {
+    String packageName = clazz.getPackageName();
+    return packageName.startsWith("java.") || packageName.startsWith("javax.");
+  }
+}
@@ -0,0 +1,87 @@
+package de.cronn.reflection.util.immutable;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Hands out a single immutable proxy per class and re-points it to the next instance on every
+ * call of {@link #moveTo(Object)}.
+ *
+ * <p>The returned proxy is only valid until the next call of {@link #moveTo(Object)} and must not
+ * be retained. Instances of this class are not thread-safe.
+ */
+public final class ImmutableProxyCursor {
+
+  private final ImmutableProxyOption[] options;
+  private final Map<Class<?>, Binding> bindings = new IdentityHashMap<>();
+
+  private Binding lastBinding;
+
+  public ImmutableProxyCursor(ImmutableProxyOption... options) {
+    this.options = options;
+  }
+
+  public <T> T moveTo(T instance) {
+    if (ImmutableProxy.isImmutable(instance)) {
+      return instance;
+    }
+    if (!isRebindable(instance)) {
+      return ImmutableProxy.create(instance, options);
+    }
+    Class<?> instanceClass = instance.getClass();
+    Binding binding = lastBinding;
+    if (binding == null || binding.instanceClass != instanceClass) {
+      binding = bindings.get(instanceClass);
+      if (binding == null) {
+        binding = createBinding(instance);
+        bindings.put(instanceClass, binding);
+      }
+      lastBinding = binding;
+    }
+    @SuppressWarnings("unchecked")
+    T proxy = (T) binding.rebind(instance);
+    return proxy;
+  }
+
+  private boolean isRebindable(Object instance) {
+    return !(instance instanceof Collection)
+        && !(instance instanceof Map)
+        && !(instance instanceof Record)
+        && !ImmutableProxyOption.SNAPSHOT.isEnabledIn(options);
+  }
+
+  private Binding createBinding(Object instance) {
+    Object proxy = ImmutableProxy.createProxy(instance, options);
+    try {
+      Field delegateField = proxy.getClass().getDeclaredField(ImmutableProxy.DELEGATE_FIELD_NAME);
+      delegateField.setAccessible(true);
+      return new Binding(instance.getClass(), proxy, delegateField);
+    } catch (NoSuchFieldException e) {
+      throw new IllegalArgumentException("Failed to find the delegate of " + proxy.getClass(), e);
+    }
+  }
+
+  private static final class Binding {
+
+    private final Class<?> instanceClass;
+    private final Object proxy;
+    private final Field delegateField;
+
+    private Binding(Class<?> instanceClass, Object proxy, Field delegateField) {
+      this.instanceClass = instanceClass;
+      this.proxy = proxy;
+      this.delegateField = delegateField;
+    }
+
+    private Object rebind(Object instance) {
+      try {
+        delegateField.set(proxy, instance);
+      } catch (IllegalAccessException e) {
+        throw new IllegalArgumentException("Failed to rebind " + proxy.getClass(), e);
+      }
+      return proxy;
+    }
+  }
+}
@@ -14,5 +14,58 @@ public enum ImmutableProxyOption {
    * RecordWithList, we need to clone the record and wrap the list component into an immutable proxy
    * itself.
    */
-  ALLOW_CLONING_RECORDS
+  ALLOW_CLONING_RECORDS,
+
+  /**
+   * Return the same immutable proxy when the same instance is wrapped more than once.
+   *
+   * <p>Proxies are kept in a weak identity map, keyed by the proxied instance and the given
+   * options. This avoids wrapping objects that are reachable from many places (such as reference
+   * data) over and over again and allows to compare such proxies by identity.
+   */
+  CANONICAL_PROXIES,
+
+  /**
+   * Do not cache the immutable proxies of collection and map elements.
+   *
+   * <p>By default, a deep-immutable collection remembers the proxy of every element it has handed
+   * out, such that accessing the same element twice returns the same proxy. Without the cache,
+   * every access creates a new proxy but no memory is retained.
+   */
+  NO_ELEMENT_CACHE,
+
+  /**
+   * Cache the immutable proxies of collection and map elements only as long as they are
+   * referenced elsewhere.
+   */
+  WEAK_ELEMENT_CACHE,
+
+  /**
+   * Cache at most 1024 immutable proxies of collection and map elements per collection or map. The
+   * least recently used entries are evicted first.
+   */
+  BOUNDED_ELEMENT_CACHE,
+
+  /**
+   * Take a deep snapshot of the instance instead of creating a view on it.
+   *
+   * <p>The object graph is copied once: collections and maps are frozen into unmodifiable copies
+   * and beans are copied and wrapped in immutable proxies. Changes to the original are not visible
+   * in the snapshot and reading the snapshot does not need to wrap any return values.
+   *
+   * @see ImmutableSnapshot#of(Object, ImmutableProxyOption...)
+   */
+  SNAPSHOT;
+
+  public boolean isEnabledIn(ImmutableProxyOption[] options) {
+    if (options == null) {
+      return false;
+    }
+    for (ImmutableProxyOption option : options) {
+      if (option == this) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
@@ -0,0 +1,334 @@
+package de.cronn.reflection.util.immutable;
+
+import de.cronn.reflection.util.ClassUtils;
+import de.cronn.reflection.util.ClassValues;
+import de.cronn.reflection.util.RecordUtils;
+import de.cronn.reflection.util.immutable.collection.DeepImmutableDeque;
+import de.cronn.reflection.util.immutable.collection.DeepImmutableNavigableMap;
+import de.cronn.reflection.util.immutable.collection.DeepImmutableNavigableSet;
+import de.cronn.reflection.util.immutable.collection.DeepImmutableQueue;
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.objenesis.ObjenesisHelper;
+
+public final class ImmutableSnapshot {
+
+  private static final ClassValue<Field[]> copyableFieldsCache =
+      ClassValues.create(ImmutableSnapshot::collectCopyableFields);
+
+  // the private copies of fields that are declared with a specific collection type, such as
+  // ArrayList or TreeMap. they are a snapshot already, but mutable, so they are handed out as views
+  private static final WeakIdentitySet privateCopies = new WeakIdentitySet();
+
+  private final ImmutableProxyOption[] options;
+  private final Map<Object, Object> snapshots = new IdentityHashMap<>();
+
+  private ImmutableSnapshot(ImmutableProxyOption[] options) {
+    this.options = options;
+  }
+
+  public static <T> T of(T instance, ImmutableProxyOption... options) {
+    ImmutableSnapshot snapshot = new ImmutableSnapshot(withSnapshotOption(options));
+    @SuppressWarnings("unchecked")
+    T result = (T) snapshot.snapshot(instance);
+    return result;
+  }
+
+  static boolean isPrivateCopy(Object value) {
+    return privateCopies.contains(value);
+  }
+
+  private Object snapshot(Object value) {
+    if (value == null) {
+      return null;
+    }
+    Object existingSnapshot = snapshots.get(value);
+    if (existingSnapshot != null) {
+      return existingSnapshot;
+    }
+    if (value instanceof List<?> list) {
+      return snapshotList(list);
+    } else if (value instanceof SortedSet<?> sortedSet) {
+      return snapshotSortedSet(sortedSet);
+    } else if (value instanceof Set<?> set) {
+      return snapshotSet(set);
+    } else if (value instanceof Queue<?> queue) {
+      return snapshotQueue(queue);
+    } else if (value instanceof Collection<?> collection) {
+      return snapshotList(collection);
+    } else if (value instanceof SortedMap<?, ?> sortedMap) {
+      return snapshotSortedMap(sortedMap);
+    } else if (value instanceof Map<?, ?> map) {
+      return snapshotMap(map);
+    } else if (ImmutableProxy.isImmutableProxy(value)) {
+      return snapshot(ImmutableProxy.unwrap(value));
+    } else if (ImmutableProxy.isImmutable(value)) {
+      return value;
+    } else if (value instanceof Record) {
+      return remember(value, RecordUtils.cloneRecord(value, this::snapshot));
+    } else {
+      return snapshotBean(value);
+    }
+  }
+
+  private <S> S remember(Object value, S snapshot) {
+    snapshots.put(value, snapshot);
+    return snapshot;
+  }
+
+  private List<Object> snapshotList(Collection<?> collection) {
+    Object[] elements = collection.toArray();
+    // remembered before the elements are copied, in case the collection contains itself
+    List<Object> snapshot =
+        remember(collection, Collections.unmodifiableList(Arrays.asList(elements)));
+    for (int i = 0; i < elements.length; i++) {
+      elements[i] = snapshot(elements[i]);
+    }
+    return snapshot;
+  }
+
+  private Set<Object> snapshotSet(Set<?> set) {
+    Set<Object> elements = new LinkedHashSet<>(set.size() * 4 / 3 + 1);
+    Set<Object> snapshot = remember(set, Collections.unmodifiableSet(elements));
+    for (Object element : set) {
+      elements.add(snapshot(element));
+    }
+    return snapshot;
+  }
+
+  private Queue<Object> snapshotQueue(Queue<?> queue) {
+    Deque<Object> elements = new ArrayDeque<>(queue.size());
+    Queue<Object> snapshot;
+    if (queue instanceof Deque<?>) {
+      snapshot = new DeepImmutableDeque<>(elements, withoutSnapshotOption(options));
+    } else {
+      snapshot = new DeepImmutableQueue<>(elements, withoutSnapshotOption(options));
+    }
+    remember(queue, snapshot);
+    for (Object element : queue) {
+      elements.add(snapshot(element));
+    }
+    return snapshot;
+  }
+
+  private NavigableSet<Object> snapshotSortedSet(SortedSet<?> sortedSet) {
+    @SuppressWarnings("unchecked")
+    Comparator<Object> comparator = (Comparator<Object>) sortedSet.comparator();
+    NavigableSet<Object> elements = new TreeSet<>(comparator);
+    boolean containsCopies = addComparableSnapshots(sortedSet, elements);
+    NavigableSet<Object> snapshot = Collections.unmodifiableNavigableSet(elements);
+    if (containsCopies) {
+      // the copies must only be handed out as immutable proxies
+      snapshot = new DeepImmutableNavigableSet<>(snapshot, withoutSnapshotOption(options));
+    }
+    return remember(sortedSet, snapshot);
+  }
+
+  private NavigableMap<Object, Object> snapshotSortedMap(SortedMap<?, ?> sortedMap) {
+    @SuppressWarnings("unchecked")
+    Comparator<Object> comparator = (Comparator<Object>) sortedMap.comparator();
+    NavigableMap<Object, Object> entries = new TreeMap<>(comparator);
+    boolean containsCopies = putComparableSnapshots(sortedMap, entries);
+    NavigableMap<Object, Object> snapshot = Collections.unmodifiableNavigableMap(entries);
+    if (containsCopies) {
+      snapshot = new DeepImmutableNavigableMap<>(snapshot, withoutSnapshotOption(options));
+    }
+    return remember(sortedMap, snapshot);
+  }
+
+  /**
+   * Adds the snapshots of the elements, unwrapped from their immutable proxies, because a
+   * comparator or {@code compareTo} cannot be called on an immutable proxy.
+   */
+  private boolean addComparableSnapshots(Collection<?> source, Collection<Object> target) {
+    boolean containsCopies = false;
+    for (Object element : source) {
+      Object snapshot = snapshot(element);
+      Object unwrappedSnapshot = ImmutableProxy.unwrap(snapshot);
+      containsCopies |= unwrappedSnapshot != snapshot;
+      target.add(unwrappedSnapshot);
+    }
+    return containsCopies;
+  }
+
+  private boolean putComparableSnapshots(Map<?, ?> source, Map<Object, Object> target) {
+    boolean containsCopies = false;
+    for (Map.Entry<?, ?> entry : source.entrySet()) {
+      Object key = snapshot(entry.getKey());
+      Object unwrappedKey = ImmutableProxy.unwrap(key);
+      containsCopies |= unwrappedKey != key;
+      target.put(unwrappedKey, snapshot(entry.getValue()));
+    }
+    return containsCopies;
+  }
+
+  private Map<Object, Object> snapshotMap(Map<?, ?> map) {
+    Map<Object, Object> entries = new LinkedHashMap<>(map.size() * 4 / 3 + 1);
+    Map<Object, Object> snapshot = remember(map, Collections.unmodifiableMap(entries));
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      entries.put(snapshot(entry.getKey()), snapshot(entry.getValue()));
+    }
+    return snapshot;
+  }
+
+  private Object snapshotBean(Object bean) {
+    Class<?> beanClass = ClassUtils.getRealClass(bean);
+    Field[] fields = copyableFieldsCache.get(beanClass);
+    if (fields == null) {
+      // the fields cannot be copied, such as the fields of JDK classes like java.util.Date
+      return remember(bean, ImmutableProxy.createProxy(cloneBean(bean, beanClass), options));
+    }
+    Object copy = ObjenesisHelper.newInstance(beanClass);
+    Object proxy = ImmutableProxy.createProxy(copy, options);
+    remember(bean, proxy);
+    for (Field field : fields) {
+      try {
+        field.set(copy, toFieldValue(field, field.get(bean)));
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        throw new IllegalArgumentException("Failed to copy " + field, e);
+      }
+    }
+    return proxy;
+  }
+
+  private static Object cloneBean(Object bean, Class<?> beanClass) {
+    if (!(bean instanceof Cloneable)) {
+      throw new IllegalArgumentException(
+          "Cannot create a snapshot of "
+              + beanClass.getName()
+              + ": its fields are not accessible and it is not Cloneable");
+    }
+    try {
+      return beanClass.getMethod("clone").invoke(bean);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      throw new IllegalArgumentException("Failed to clone " + beanClass.getName(), e);
+    }
+  }
+
+  private Object toFieldValue(Field field, Object originalValue) {
+    Object snapshotValue = snapshot(originalValue);
+    Class<?> fieldType = field.getType();
+    if (snapshotValue == null || fieldType.isPrimitive() || fieldType.isInstance(snapshotValue)) {
+      return snapshotValue;
+    }
+    // the field is declared with a specific collection type, such as ArrayList or TreeMap.
+    // we fill a private instance of the original type that is only reachable via the proxy.
+    Object privateCopy = createEmptyCopy(originalValue);
+    if (privateCopy instanceof Map<?, ?>) {
+      @SuppressWarnings("unchecked")
+      Map<Object, Object> map = (Map<Object, Object>) privateCopy;
+      if (isSorted(originalValue)) {
+        putComparableSnapshots((Map<?, ?>) originalValue, map);
+      } else {
+        map.putAll((Map<?, ?>) snapshotValue);
+      }
+    } else if (privateCopy instanceof Collection<?>) {
+      @SuppressWarnings("unchecked")
+      Collection<Object> collection = (Collection<Object>) privateCopy;
+      if (isSorted(originalValue)) {
+        addComparableSnapshots((Collection<?>) originalValue, collection);
+      } else {
+        collection.addAll((Collection<?>) snapshotValue);
+      }
+    } else {
+      throw new IllegalArgumentException(
+          "Cannot assign snapshot of type " + snapshotValue.getClass() + " to " + field);
+    }
+    privateCopies.add(privateCopy);
+    return privateCopy;
+  }
+
+  private static Object createEmptyCopy(Object original) {
+    Comparator<?> comparator = getComparator(original);
+    if (comparator == null) {
+      return ClassUtils.createNewInstanceLike(original);
+    }
+    Class<?> type = ClassUtils.getRealClass(original);
+    try {
+      return type.getConstructor(Comparator.class).newInstance(comparator);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException(
+          "Failed to create an instance of " + type + " with comparator " + comparator, e);
+    }
+  }
+
+  private static boolean isSorted(Object collection) {
+    return collection instanceof SortedSet<?>
+        || collection instanceof SortedMap<?, ?>
+        || collection instanceof PriorityQueue<?>;
+  }
+
+  private static Comparator<?> getComparator(Object collection) {
+    if (collection instanceof SortedSet<?> sortedSet) {
+      return sortedSet.comparator();
+    } else if (collection instanceof SortedMap<?, ?> sortedMap) {
+      return sortedMap.comparator();
+    } else if (collection instanceof PriorityQueue<?> priorityQueue) {
+      return priorityQueue.comparator();
+    } else {
+      return null;
+    }
+  }
+
+  private static Field[] collectCopyableFields(Class<?> type) {
+    List<Field> fields = new ArrayList<>();
+    for (Class<?> current = type;
+        current != null && !current.equals(Object.class);
+        current = current.getSuperclass()) {
+      for (Field field : current.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+          // synthetic fields, such as the reference of an inner class to its enclosing instance,
+          // are not part of the state of the bean
+          continue;
+        }
+        try {
+          field.setAccessible(true);
+        } catch (InaccessibleObjectException | SecurityException e) {
+          return null;
+        }
+        fields.add(field);
+      }
+    }
+    return fields.toArray(new Field[0]);
+  }
+
+  private static ImmutableProxyOption[] withSnapshotOption(ImmutableProxyOption[] options) {
+    if (ImmutableProxyOption.SNAPSHOT.isEnabledIn(options)) {
+      return options;
+    }
+    if (options == null) {
+      return new ImmutableProxyOption[] {ImmutableProxyOption.SNAPSHOT};
+    }
+    ImmutableProxyOption[] result = Arrays.copyOf(options, options.length + 1);
+    result[options.length] = ImmutableProxyOption.SNAPSHOT;
+    return result;
+  }
+
+  static ImmutableProxyOption[] withoutSnapshotOption(ImmutableProxyOption[] options) {
+    return Arrays.stream(options)
+        .filter(option -> option != ImmutableProxyOption.SNAPSHOT)
+        .toArray(ImmutableProxyOption[]::new);
+  }
+}
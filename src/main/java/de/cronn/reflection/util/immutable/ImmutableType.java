@@ -0,0 +1,19 @@
+package de.cronn.reflection.util.immutable;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class as immutable such that {@link ImmutableProxy} returns its instances as they are
+ * instead of wrapping them in an immutable proxy.
+ *
+ * <p>Typical candidates are value objects such as money amounts or identifiers. Use {@link
+ * ImmutableProxy#registerImmutableType(Class)} for classes that cannot be annotated.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface ImmutableType {}
@@ -0,0 +1,57 @@
+package de.cronn.reflection.util.immutable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** A concurrent set that compares its elements by identity and does not keep them alive. */
+final class WeakIdentitySet {
+
+  private final Set<IdentityReference> references = ConcurrentHashMap.newKeySet();
+  private final ReferenceQueue<Object> collectedElements = new ReferenceQueue<>();
+
+  void add(Object element) {
+    expungeCollectedElements();
+    references.add(new IdentityReference(element, collectedElements));
+  }
+
+  boolean contains(Object element) {
+    return element != null && references.contains(new IdentityReference(element, null));
+  }
+
+  private void expungeCollectedElements() {
+    Reference<?> reference;
+    while ((reference = collectedElements.poll()) != null) {
+      references.remove(reference);
+    }
+  }
+
+  private static final class IdentityReference extends WeakReference<Object> {
+
+    private final int hashCode;
+
+    IdentityReference(Object element, ReferenceQueue<Object> queue) {
+      super(element, queue);
+      this.hashCode = System.identityHashCode(element);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof IdentityReference otherReference)) {
+        return false;
+      }
+      Object element = get();
+      return element != null && element == otherReference.get();
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
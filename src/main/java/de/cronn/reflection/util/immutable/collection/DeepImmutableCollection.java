@@ -2,15 +2,17 @@ package de.cronn.reflection.util.immutable.collection;
 
 import de.cronn.reflection.util.immutable.Immutable;
 import de.cronn.reflection.util.immutable.ImmutableProxy;
+import de.cronn.reflection.util.immutable.ImmutableProxyCursor;
 import de.cronn.reflection.util.immutable.ImmutableProxyOption;
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.AbstractCollection;
 import java.util.Collection;
-import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
 import org.jetbrains.annotations.NotNull;
 
 public class DeepImmutableCollection<E> extends AbstractCollection<E>
@@ -20,9 +22,9 @@ public class DeepImmutableCollection<E> extends AbstractCollection<E>
 
   private final Collection<E> delegate;
   protected final ImmutableProxyOption[] options;
-  private final String immutableMessage;
+  final String immutableMessage;
 
-  private final Map<E, E> immutableProxyCache = new IdentityHashMap<>();
+  final ImmutableElementCache<E> immutableProxyCache;
 
   public DeepImmutableCollection(Collection<E> delegate, ImmutableProxyOption[] options) {
     this(delegate, options, "This collection is immutable");
@@ -30,13 +32,22 @@ public class DeepImmutableCollection<E> extends AbstractCollection<E>
 
   DeepImmutableCollection(
       Collection<E> delegate, ImmutableProxyOption[] options, String immutableMessage) {
+    this(delegate, options, immutableMessage, ImmutableElementCache.create(options));
+  }
+
+  DeepImmutableCollection(
+      Collection<E> delegate,
+      ImmutableProxyOption[] options,
+      String immutableMessage,
+      ImmutableElementCache<E> immutableProxyCache) {
     this.delegate = Objects.requireNonNull(delegate);
     this.options = options;
     this.immutableMessage = immutableMessage;
+    this.immutableProxyCache = immutableProxyCache;
   }
 
   E getImmutableElement(E element) {
-    return immutableProxyCache.computeIfAbsent(element, this::createImmutableElement);
+    return immutableProxyCache.get(element, this::createImmutableElement);
   }
 
   E createImmutableElement(E value) {
@@ -64,6 +75,57 @@ public class DeepImmutableCollection<E> extends AbstractCollection<E>
     return new ImmutableIterator<>(this, delegate.iterator(), immutableMessage);
   }
 
+  @Override
+  public void forEach(Consumer<? super E> action) {
+    Objects.requireNonNull(action);
+    delegate.forEach(element -> action.accept(getImmutableElement(element)));
+  }
+
+  /**
+   * Performs the given action for each element, passing a read-only proxy that is re-pointed to
+   * the next element as the iteration advances. The action must not retain the passed element.
+   */
+  public void forEachReadOnly(Consumer<? super E> action) {
+    Objects.requireNonNull(action);
+    ImmutableProxyCursor cursor = new ImmutableProxyCursor(options);
+    delegate.forEach(element -> action.accept(cursor.moveTo(element)));
+  }
+
+  @NotNull
+  @Override
+  public Object[] toArray() {
+    Object[] array = delegate.toArray();
+    return replaceByImmutableElements(array);
+  }
+
+  @NotNull
+  @Override
+  public <T> T[] toArray(@NotNull T[] a) {
+    T[] array = delegate.toArray(a);
+    return replaceByImmutableElements(array);
+  }
+
+  @Override
+  public <T> T[] toArray(IntFunction<T[]> generator) {
+    T[] array = delegate.toArray(generator);
+    return replaceByImmutableElements(array);
+  }
+
+  private <T> T[] replaceByImmutableElements(T[] array) {
+    int size = Math.min(array.length, delegate.size());
+    for (int i = 0; i < size; i++) {
+      @SuppressWarnings("unchecked")
+      T immutableElement = (T) getImmutableElement((E) array[i]);
+      array[i] = immutableElement;
+    }
+    return array;
+  }
+
+  @Override
+  public Spliterator<E> spliterator() {
+    return new ImmutableSpliterator<>(this, delegate.spliterator());
+  }
+
   @Override
   public boolean containsAll(@NotNull Collection<?> c) {
     return delegate.containsAll(c);
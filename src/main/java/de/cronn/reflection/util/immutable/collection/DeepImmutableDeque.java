@@ -0,0 +1,105 @@
+package de.cronn.reflection.util.immutable.collection;
+
+import de.cronn.reflection.util.immutable.ImmutableProxyOption;
+import java.io.Serial;
+import java.util.Deque;
+import java.util.Iterator;
+import org.jetbrains.annotations.NotNull;
+
+public class DeepImmutableDeque<E> extends DeepImmutableQueue<E> implements Deque<E> {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  private final Deque<E> dequeDelegate;
+
+  public DeepImmutableDeque(Deque<E> deque, ImmutableProxyOption[] options) {
+    super(deque, options, "This deque is immutable");
+    this.dequeDelegate = deque;
+  }
+
+  @Override
+  public E getFirst() {
+    return getImmutableElement(dequeDelegate.getFirst());
+  }
+
+  @Override
+  public E getLast() {
+    return getImmutableElement(dequeDelegate.getLast());
+  }
+
+  @Override
+  public E peekFirst() {
+    return getImmutableElement(dequeDelegate.peekFirst());
+  }
+
+  @Override
+  public E peekLast() {
+    return getImmutableElement(dequeDelegate.peekLast());
+  }
+
+  @NotNull
+  @Override
+  public Iterator<E> descendingIterator() {
+    return new ImmutableIterator<>(this, dequeDelegate.descendingIterator(), immutableMessage);
+  }
+
+  @Override
+  public void addFirst(E e) {
+    throw new UnsupportedOperationException(immutableMessage);
+  }
+
+  @Override
+  public void addLast(E e) {
+    throw new UnsupportedOperationException(immutableMessage);
+  }
+
+  @Override
+  public boolean offerFirst(E e) {
+    throw new UnsupportedOperationException(immutableMessage);
+  }
+
+  @Override
+  public boolean offerLast(E e) {
+    throw new UnsupportedOperationException(immutableMessage);
+  }
+
+  @Override
+  public E removeFirst() {
+    throw new UnsupportedOperationException(immutableMessage);
+  }
+
+  @Override
+  public E removeLast() {
+    throw new UnsupportedOperationException(immutableMessage);
+  }
+
+  @Override
+  public E pollFirst() {
+    throw new UnsupportedOperationException(immutableMessage);
+  }
+
+  @Override
+  public E pollLast() {
+    throw new UnsupportedOperationException(immutableMessage);
+  }
+
+  @Override
+  public boolean removeFirstOccurrence(Object o) {
+    throw new UnsupportedOperationException(immutableMessage);
+  }
+
+  @Override
+  public boolean removeLastOccurrence(Object o) {
+    throw new UnsupportedOperationException(immutableMessage);
+  }
+
+  @Override
+  public void push(E e) {
+    throw new UnsupportedOperationException(immutableMessage);
+  }
+
+  @Override
+  public E pop() {
+    throw new UnsupportedOperationException(immutableMessage);
+  }
+}
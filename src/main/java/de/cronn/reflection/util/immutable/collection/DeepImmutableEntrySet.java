@@ -3,6 +3,7 @@ package de.cronn.reflection.util.immutable.collection;
 import java.io.Serial;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Consumer;
 
 class DeepImmutableEntrySet<K, V> extends DeepImmutableCollection<Entry<K, V>>
     implements Set<Entry<K, V>> {
@@ -12,10 +13,20 @@ class DeepImmutableEntrySet<K, V> extends DeepImmutableCollection<Entry<K, V>>
   private final DeepImmutableMap<K, V> immutableMap;
 
   DeepImmutableEntrySet(Set<Entry<K, V>> entrySet, DeepImmutableMap<K, V> immutableMap) {
-    super(entrySet, immutableMap.options, DeepImmutableMap.IMMUTABLE_MESSAGE);
+    // entries are cheap wrappers; the proxies of keys and values are cached by the map
+    super(
+        entrySet,
+        immutableMap.options,
+        DeepImmutableMap.IMMUTABLE_MESSAGE,
+        ImmutableElementCache.none());
     this.immutableMap = immutableMap;
   }
 
+  @Override
+  public void forEachReadOnly(Consumer<? super Entry<K, V>> action) {
+    forEach(action);
+  }
+
   @Override
   Entry<K, V> createImmutableElement(Entry<K, V> entry) {
     return new ImmutableEntry<>(entry, immutableMap);
@@ -8,6 +8,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.RandomAccess;
 import org.jetbrains.annotations.NotNull;
 
 public class DeepImmutableList<E> extends DeepImmutableCollection<E> implements List<E> {
@@ -19,20 +20,34 @@ public class DeepImmutableList<E> extends DeepImmutableCollection<E> implements
   private final List<E> listDelegate;
 
   public DeepImmutableList(List<E> list, ImmutableProxyOption[] options) {
-    super(list, options, IMMUTABLE_MESSAGE);
+    this(list, options, ImmutableElementCache.create(options));
+  }
+
+  DeepImmutableList(
+      List<E> list, ImmutableProxyOption[] options, ImmutableElementCache<E> immutableProxyCache) {
+    super(list, options, IMMUTABLE_MESSAGE, immutableProxyCache);
     this.listDelegate = list;
   }
 
   public static <T> DeepImmutableList<T> of(T elements, ImmutableProxyOption... options) {
-    return new DeepImmutableList<>(Collections.singletonList(elements), options);
+    return new DeepImmutableRandomAccessList<>(Collections.singletonList(elements), options);
   }
 
   public static <T> DeepImmutableList<T> of(T e1, T e2, ImmutableProxyOption... options) {
-    return new DeepImmutableList<>(Arrays.asList(e1, e2), options);
+    return new DeepImmutableRandomAccessList<>(Arrays.asList(e1, e2), options);
   }
 
   public static <T> DeepImmutableList<T> of(T e1, T e2, T e3, ImmutableProxyOption... options) {
-    return new DeepImmutableList<>(Arrays.asList(e1, e2, e3), options);
+    return new DeepImmutableRandomAccessList<>(Arrays.asList(e1, e2, e3), options);
+  }
+
+  private static <T> DeepImmutableList<T> create(
+      List<T> list, ImmutableProxyOption[] options, ImmutableElementCache<T> immutableProxyCache) {
+    if (list instanceof RandomAccess) {
+      return new DeepImmutableRandomAccessList<>(list, options, immutableProxyCache);
+    } else {
+      return new DeepImmutableList<>(list, options, immutableProxyCache);
+    }
   }
 
   @Override
@@ -66,7 +81,7 @@ public class DeepImmutableList<E> extends DeepImmutableCollection<E> implements
   @NotNull
   @Override
   public List<E> subList(int fromIndex, int toIndex) {
-    return new DeepImmutableList<>(listDelegate.subList(fromIndex, toIndex), options);
+    return create(listDelegate.subList(fromIndex, toIndex), options, immutableProxyCache);
   }
 
   @Override
@@ -6,9 +6,10 @@ import de.cronn.reflection.util.immutable.ImmutableProxyOption;
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.AbstractMap;
-import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 public class DeepImmutableMap<K, V> extends AbstractMap<K, V> implements Immutable, Serializable {
 
@@ -19,16 +20,30 @@ public class DeepImmutableMap<K, V> extends AbstractMap<K, V> implements Immutab
   private final Map<K, V> delegate;
   final ImmutableProxyOption[] options;
 
-  private final Map<K, K> immutableKeyCache = new IdentityHashMap<>();
-  private final Map<V, V> immutableValueCache = new IdentityHashMap<>();
+  final ImmutableElementCache<K> immutableKeyCache;
+  final ImmutableElementCache<V> immutableValueCache;
 
   public DeepImmutableMap(Map<K, V> delegate, ImmutableProxyOption[] options) {
+    this(
+        delegate,
+        options,
+        ImmutableElementCache.create(options),
+        ImmutableElementCache.create(options));
+  }
+
+  DeepImmutableMap(
+      Map<K, V> delegate,
+      ImmutableProxyOption[] options,
+      ImmutableElementCache<K> immutableKeyCache,
+      ImmutableElementCache<V> immutableValueCache) {
     this.delegate = delegate;
     this.options = options;
+    this.immutableKeyCache = immutableKeyCache;
+    this.immutableValueCache = immutableValueCache;
   }
 
   K getImmutableKey(K key) {
-    return immutableKeyCache.computeIfAbsent(key, this::createImmutableProxy);
+    return immutableKeyCache.get(key, this::createImmutableProxy);
   }
 
   private <T> T createImmutableProxy(T object) {
@@ -36,7 +51,15 @@ public class DeepImmutableMap<K, V> extends AbstractMap<K, V> implements Immutab
   }
 
   V getImmutableValue(V value) {
-    return immutableValueCache.computeIfAbsent(value, this::createImmutableProxy);
+    return immutableValueCache.get(value, this::createImmutableProxy);
+  }
+
+  Entry<K, V> getImmutableEntry(Entry<K, V> entry) {
+    if (entry == null) {
+      return null;
+    }
+    return new SimpleImmutableEntry<>(
+        getImmutableKey(entry.getKey()), getImmutableValue(entry.getValue()));
   }
 
   @Override
@@ -45,6 +68,41 @@ public class DeepImmutableMap<K, V> extends AbstractMap<K, V> implements Immutab
     return getImmutableValue(value);
   }
 
+  @Override
+  public V getOrDefault(Object key, V defaultValue) {
+    V value = delegate.get(key);
+    if (value == null && !delegate.containsKey(key)) {
+      return defaultValue;
+    }
+    return getImmutableValue(value);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return delegate.containsKey(key);
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    return delegate.containsValue(value);
+  }
+
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return delegate.isEmpty();
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    Objects.requireNonNull(action);
+    delegate.forEach((key, value) -> action.accept(getImmutableKey(key), getImmutableValue(value)));
+  }
+
   @Override
   public Set<Entry<K, V>> entrySet() {
     return new DeepImmutableEntrySet<>(delegate.entrySet(), this);
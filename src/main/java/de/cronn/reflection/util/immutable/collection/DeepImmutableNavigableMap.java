@@ -0,0 +1,163 @@
+package de.cronn.reflection.util.immutable.collection;
+
+import de.cronn.reflection.util.immutable.ImmutableProxyOption;
+import java.io.Serial;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.SortedMap;
+import org.jetbrains.annotations.NotNull;
+
+public class DeepImmutableNavigableMap<K, V> extends DeepImmutableSortedMap<K, V>
+    implements NavigableMap<K, V> {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  private final NavigableMap<K, V> navigableMapDelegate;
+
+  public DeepImmutableNavigableMap(
+      NavigableMap<K, V> navigableMap, ImmutableProxyOption[] options) {
+    this(
+        navigableMap,
+        options,
+        ImmutableElementCache.create(options),
+        ImmutableElementCache.create(options));
+  }
+
+  DeepImmutableNavigableMap(
+      NavigableMap<K, V> navigableMap,
+      ImmutableProxyOption[] options,
+      ImmutableElementCache<K> immutableKeyCache,
+      ImmutableElementCache<V> immutableValueCache) {
+    super(navigableMap, options, immutableKeyCache, immutableValueCache);
+    this.navigableMapDelegate = navigableMap;
+  }
+
+  private NavigableMap<K, V> createView(NavigableMap<K, V> navigableMap) {
+    return new DeepImmutableNavigableMap<>(
+        navigableMap, options, immutableKeyCache, immutableValueCache);
+  }
+
+  private NavigableSet<K> createKeySetView(NavigableSet<K> keySet) {
+    return new DeepImmutableNavigableSet<>(keySet, options, immutableKeyCache);
+  }
+
+  @Override
+  public Entry<K, V> lowerEntry(K key) {
+    return getImmutableEntry(navigableMapDelegate.lowerEntry(key));
+  }
+
+  @Override
+  public K lowerKey(K key) {
+    return getImmutableKey(navigableMapDelegate.lowerKey(key));
+  }
+
+  @Override
+  public Entry<K, V> floorEntry(K key) {
+    return getImmutableEntry(navigableMapDelegate.floorEntry(key));
+  }
+
+  @Override
+  public K floorKey(K key) {
+    return getImmutableKey(navigableMapDelegate.floorKey(key));
+  }
+
+  @Override
+  public Entry<K, V> ceilingEntry(K key) {
+    return getImmutableEntry(navigableMapDelegate.ceilingEntry(key));
+  }
+
+  @Override
+  public K ceilingKey(K key) {
+    return getImmutableKey(navigableMapDelegate.ceilingKey(key));
+  }
+
+  @Override
+  public Entry<K, V> higherEntry(K key) {
+    return getImmutableEntry(navigableMapDelegate.higherEntry(key));
+  }
+
+  @Override
+  public K higherKey(K key) {
+    return getImmutableKey(navigableMapDelegate.higherKey(key));
+  }
+
+  @Override
+  public Entry<K, V> firstEntry() {
+    return getImmutableEntry(navigableMapDelegate.firstEntry());
+  }
+
+  @Override
+  public Entry<K, V> lastEntry() {
+    return getImmutableEntry(navigableMapDelegate.lastEntry());
+  }
+
+  @Override
+  public Entry<K, V> pollFirstEntry() {
+    throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+  }
+
+  @Override
+  public Entry<K, V> pollLastEntry() {
+    throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+  }
+
+  @NotNull
+  @Override
+  public NavigableMap<K, V> descendingMap() {
+    return createView(navigableMapDelegate.descendingMap());
+  }
+
+  @NotNull
+  @Override
+  public NavigableSet<K> keySet() {
+    return navigableKeySet();
+  }
+
+  @NotNull
+  @Override
+  public NavigableSet<K> navigableKeySet() {
+    return createKeySetView(navigableMapDelegate.navigableKeySet());
+  }
+
+  @NotNull
+  @Override
+  public NavigableSet<K> descendingKeySet() {
+    return createKeySetView(navigableMapDelegate.descendingKeySet());
+  }
+
+  @NotNull
+  @Override
+  public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+    return createView(navigableMapDelegate.subMap(fromKey, fromInclusive, toKey, toInclusive));
+  }
+
+  @NotNull
+  @Override
+  public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+    return createView(navigableMapDelegate.headMap(toKey, inclusive));
+  }
+
+  @NotNull
+  @Override
+  public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+    return createView(navigableMapDelegate.tailMap(fromKey, inclusive));
+  }
+
+  @NotNull
+  @Override
+  public SortedMap<K, V> subMap(K fromKey, K toKey) {
+    return subMap(fromKey, true, toKey, false);
+  }
+
+  @NotNull
+  @Override
+  public SortedMap<K, V> headMap(K toKey) {
+    return headMap(toKey, false);
+  }
+
+  @NotNull
+  @Override
+  public SortedMap<K, V> tailMap(K fromKey) {
+    return tailMap(fromKey, true);
+  }
+}
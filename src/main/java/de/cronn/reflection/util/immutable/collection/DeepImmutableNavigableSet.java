@@ -0,0 +1,113 @@
+package de.cronn.reflection.util.immutable.collection;
+
+import de.cronn.reflection.util.immutable.ImmutableProxyOption;
+import java.io.Serial;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.SortedSet;
+import org.jetbrains.annotations.NotNull;
+
+public class DeepImmutableNavigableSet<E> extends DeepImmutableSortedSet<E>
+    implements NavigableSet<E> {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  private final NavigableSet<E> navigableSetDelegate;
+
+  public DeepImmutableNavigableSet(NavigableSet<E> navigableSet, ImmutableProxyOption[] options) {
+    this(navigableSet, options, ImmutableElementCache.create(options));
+  }
+
+  DeepImmutableNavigableSet(
+      NavigableSet<E> navigableSet,
+      ImmutableProxyOption[] options,
+      ImmutableElementCache<E> immutableProxyCache) {
+    super(navigableSet, options, immutableProxyCache);
+    this.navigableSetDelegate = navigableSet;
+  }
+
+  private NavigableSet<E> createView(NavigableSet<E> navigableSet) {
+    return new DeepImmutableNavigableSet<>(navigableSet, options, immutableProxyCache);
+  }
+
+  @Override
+  public E lower(E e) {
+    return getImmutableElement(navigableSetDelegate.lower(e));
+  }
+
+  @Override
+  public E floor(E e) {
+    return getImmutableElement(navigableSetDelegate.floor(e));
+  }
+
+  @Override
+  public E ceiling(E e) {
+    return getImmutableElement(navigableSetDelegate.ceiling(e));
+  }
+
+  @Override
+  public E higher(E e) {
+    return getImmutableElement(navigableSetDelegate.higher(e));
+  }
+
+  @NotNull
+  @Override
+  public NavigableSet<E> descendingSet() {
+    return createView(navigableSetDelegate.descendingSet());
+  }
+
+  @NotNull
+  @Override
+  public Iterator<E> descendingIterator() {
+    return new ImmutableIterator<>(
+        this, navigableSetDelegate.descendingIterator(), IMMUTABLE_MESSAGE);
+  }
+
+  @NotNull
+  @Override
+  public NavigableSet<E> subSet(
+      E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+    return createView(
+        navigableSetDelegate.subSet(fromElement, fromInclusive, toElement, toInclusive));
+  }
+
+  @NotNull
+  @Override
+  public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+    return createView(navigableSetDelegate.headSet(toElement, inclusive));
+  }
+
+  @NotNull
+  @Override
+  public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+    return createView(navigableSetDelegate.tailSet(fromElement, inclusive));
+  }
+
+  @NotNull
+  @Override
+  public SortedSet<E> subSet(E fromElement, E toElement) {
+    return subSet(fromElement, true, toElement, false);
+  }
+
+  @NotNull
+  @Override
+  public SortedSet<E> headSet(E toElement) {
+    return headSet(toElement, false);
+  }
+
+  @NotNull
+  @Override
+  public SortedSet<E> tailSet(E fromElement) {
+    return tailSet(fromElement, true);
+  }
+
+  @Override
+  public E pollFirst() {
+    throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+  }
+
+  @Override
+  public E pollLast() {
+    throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+  }
+}
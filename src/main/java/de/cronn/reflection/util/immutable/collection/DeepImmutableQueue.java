@@ -0,0 +1,48 @@
+package de.cronn.reflection.util.immutable.collection;
+
+import de.cronn.reflection.util.immutable.ImmutableProxyOption;
+import java.io.Serial;
+import java.util.Queue;
+
+public class DeepImmutableQueue<E> extends DeepImmutableCollection<E> implements Queue<E> {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  private static final String IMMUTABLE_MESSAGE = "This queue is immutable";
+
+  private final Queue<E> queueDelegate;
+
+  public DeepImmutableQueue(Queue<E> queue, ImmutableProxyOption[] options) {
+    this(queue, options, IMMUTABLE_MESSAGE);
+  }
+
+  DeepImmutableQueue(Queue<E> queue, ImmutableProxyOption[] options, String immutableMessage) {
+    super(queue, options, immutableMessage);
+    this.queueDelegate = queue;
+  }
+
+  @Override
+  public E peek() {
+    return getImmutableElement(queueDelegate.peek());
+  }
+
+  @Override
+  public E element() {
+    return getImmutableElement(queueDelegate.element());
+  }
+
+  @Override
+  public boolean offer(E e) {
+    throw new UnsupportedOperationException(immutableMessage);
+  }
+
+  @Override
+  public E remove() {
+    throw new UnsupportedOperationException(immutableMessage);
+  }
+
+  @Override
+  public E poll() {
+    throw new UnsupportedOperationException(immutableMessage);
+  }
+}
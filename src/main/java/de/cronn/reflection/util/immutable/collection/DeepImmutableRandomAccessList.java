@@ -0,0 +1,20 @@
+package de.cronn.reflection.util.immutable.collection;
+
+import de.cronn.reflection.util.immutable.ImmutableProxyOption;
+import java.io.Serial;
+import java.util.List;
+import java.util.RandomAccess;
+
+public class DeepImmutableRandomAccessList<E> extends DeepImmutableList<E> implements RandomAccess {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  public DeepImmutableRandomAccessList(List<E> list, ImmutableProxyOption[] options) {
+    super(list, options);
+  }
+
+  DeepImmutableRandomAccessList(
+      List<E> list, ImmutableProxyOption[] options, ImmutableElementCache<E> immutableProxyCache) {
+    super(list, options, immutableProxyCache);
+  }
+}
@@ -11,8 +11,15 @@ public class DeepImmutableSet<E> extends DeepImmutableCollection<E> implements S
 
   @Serial private static final long serialVersionUID = 1L;
 
+  static final String IMMUTABLE_MESSAGE = "This set is immutable";
+
   public DeepImmutableSet(Set<E> set, ImmutableProxyOption[] options) {
-    super(set, options, "This set is immutable");
+    super(set, options, IMMUTABLE_MESSAGE);
+  }
+
+  DeepImmutableSet(
+      Set<E> set, ImmutableProxyOption[] options, ImmutableElementCache<E> immutableProxyCache) {
+    super(set, options, IMMUTABLE_MESSAGE, immutableProxyCache);
   }
 
   public static <T> DeepImmutableSet<T> of(T element, ImmutableProxyOption... options) {
@@ -0,0 +1,68 @@
+package de.cronn.reflection.util.immutable.collection;
+
+import de.cronn.reflection.util.immutable.ImmutableProxyOption;
+import java.io.Serial;
+import java.util.Comparator;
+import java.util.SortedMap;
+import org.jetbrains.annotations.NotNull;
+
+public class DeepImmutableSortedMap<K, V> extends DeepImmutableMap<K, V>
+    implements SortedMap<K, V> {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  private final SortedMap<K, V> sortedMapDelegate;
+
+  public DeepImmutableSortedMap(SortedMap<K, V> sortedMap, ImmutableProxyOption[] options) {
+    this(
+        sortedMap,
+        options,
+        ImmutableElementCache.create(options),
+        ImmutableElementCache.create(options));
+  }
+
+  DeepImmutableSortedMap(
+      SortedMap<K, V> sortedMap,
+      ImmutableProxyOption[] options,
+      ImmutableElementCache<K> immutableKeyCache,
+      ImmutableElementCache<V> immutableValueCache) {
+    super(sortedMap, options, immutableKeyCache, immutableValueCache);
+    this.sortedMapDelegate = sortedMap;
+  }
+
+  @Override
+  public Comparator<? super K> comparator() {
+    return sortedMapDelegate.comparator();
+  }
+
+  @NotNull
+  @Override
+  public SortedMap<K, V> subMap(K fromKey, K toKey) {
+    return new DeepImmutableSortedMap<>(
+        sortedMapDelegate.subMap(fromKey, toKey), options, immutableKeyCache, immutableValueCache);
+  }
+
+  @NotNull
+  @Override
+  public SortedMap<K, V> headMap(K toKey) {
+    return new DeepImmutableSortedMap<>(
+        sortedMapDelegate.headMap(toKey), options, immutableKeyCache, immutableValueCache);
+  }
+
+  @NotNull
+  @Override
+  public SortedMap<K, V> tailMap(K fromKey) {
+    return new DeepImmutableSortedMap<>(
+        sortedMapDelegate.tailMap(fromKey), options, immutableKeyCache, immutableValueCache);
+  }
+
+  @Override
+  public K firstKey() {
+    return getImmutableKey(sortedMapDelegate.firstKey());
+  }
+
+  @Override
+  public K lastKey() {
+    return getImmutableKey(sortedMapDelegate.lastKey());
+  }
+}
@@ -0,0 +1,62 @@
+package de.cronn.reflection.util.immutable.collection;
+
+import de.cronn.reflection.util.immutable.ImmutableProxyOption;
+import java.io.Serial;
+import java.util.Comparator;
+import java.util.SortedSet;
+import org.jetbrains.annotations.NotNull;
+
+public class DeepImmutableSortedSet<E> extends DeepImmutableSet<E> implements SortedSet<E> {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  private final SortedSet<E> sortedSetDelegate;
+
+  public DeepImmutableSortedSet(SortedSet<E> sortedSet, ImmutableProxyOption[] options) {
+    this(sortedSet, options, ImmutableElementCache.create(options));
+  }
+
+  DeepImmutableSortedSet(
+      SortedSet<E> sortedSet,
+      ImmutableProxyOption[] options,
+      ImmutableElementCache<E> immutableProxyCache) {
+    super(sortedSet, options, immutableProxyCache);
+    this.sortedSetDelegate = sortedSet;
+  }
+
+  @Override
+  public Comparator<? super E> comparator() {
+    return sortedSetDelegate.comparator();
+  }
+
+  @NotNull
+  @Override
+  public SortedSet<E> subSet(E fromElement, E toElement) {
+    return new DeepImmutableSortedSet<>(
+        sortedSetDelegate.subSet(fromElement, toElement), options, immutableProxyCache);
+  }
+
+  @NotNull
+  @Override
+  public SortedSet<E> headSet(E toElement) {
+    return new DeepImmutableSortedSet<>(
+        sortedSetDelegate.headSet(toElement), options, immutableProxyCache);
+  }
+
+  @NotNull
+  @Override
+  public SortedSet<E> tailSet(E fromElement) {
+    return new DeepImmutableSortedSet<>(
+        sortedSetDelegate.tailSet(fromElement), options, immutableProxyCache);
+  }
+
+  @Override
+  public E first() {
+    return getImmutableElement(sortedSetDelegate.first());
+  }
+
+  @Override
+  public E last() {
+    return getImmutableElement(sortedSetDelegate.last());
+  }
+}
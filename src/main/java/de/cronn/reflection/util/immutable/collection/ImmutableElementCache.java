@@ -0,0 +1,256 @@
+package de.cronn.reflection.util.immutable.collection;
+
+import de.cronn.reflection.util.immutable.ImmutableProxyOption;
+import java.io.Serial;
+import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+abstract class ImmutableElementCache<E> implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  static final int BOUNDED_CACHE_CAPACITY = 1024;
+
+  static <E> ImmutableElementCache<E> create(ImmutableProxyOption[] options) {
+    if (ImmutableProxyOption.NO_ELEMENT_CACHE.isEnabledIn(options)) {
+      return new NoCache<>();
+    } else if (ImmutableProxyOption.WEAK_ELEMENT_CACHE.isEnabledIn(options)) {
+      return new WeakCache<>();
+    } else if (ImmutableProxyOption.BOUNDED_ELEMENT_CACHE.isEnabledIn(options)) {
+      return new BoundedCache<>(BOUNDED_CACHE_CAPACITY);
+    } else {
+      return new FullCache<>();
+    }
+  }
+
+  static <E> ImmutableElementCache<E> none() {
+    return new NoCache<>();
+  }
+
+  E get(E element, UnaryOperator<E> immutableElementFactory) {
+    if (element == null) {
+      return null;
+    }
+    IdentityKey key = new IdentityKey(element);
+    E immutableElement = lookup(key);
+    if (immutableElement != null) {
+      return immutableElement;
+    }
+    E newImmutableElement = immutableElementFactory.apply(element);
+    if (newImmutableElement == element) {
+      // the element is immutable itself, no need to remember it
+      return element;
+    }
+    return store(key, newImmutableElement);
+  }
+
+  abstract E lookup(IdentityKey key);
+
+  abstract E store(IdentityKey key, E immutableElement);
+
+  abstract int size();
+
+  abstract ImmutableElementCache<E> newEmptyCache();
+
+  @Serial
+  Object readResolve() {
+    return newEmptyCache();
+  }
+
+  static final class IdentityKey {
+
+    private final Object element;
+
+    IdentityKey(Object element) {
+      this.element = element;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof IdentityKey otherKey && otherKey.element == element;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(element);
+    }
+  }
+
+  private static final class NoCache<E> extends ImmutableElementCache<E> {
+
+    @Serial private static final long serialVersionUID = 1L;
+
+    @Override
+    E get(E element, UnaryOperator<E> immutableElementFactory) {
+      if (element == null) {
+        return null;
+      }
+      return immutableElementFactory.apply(element);
+    }
+
+    @Override
+    E lookup(IdentityKey key) {
+      return null;
+    }
+
+    @Override
+    E store(IdentityKey key, E immutableElement) {
+      return immutableElement;
+    }
+
+    @Override
+    int size() {
+      return 0;
+    }
+
+    @Override
+    ImmutableElementCache<E> newEmptyCache() {
+      return new NoCache<>();
+    }
+  }
+
+  private static final class FullCache<E> extends ImmutableElementCache<E> {
+
+    @Serial private static final long serialVersionUID = 1L;
+
+    private final transient Map<IdentityKey, E> immutableElements = new ConcurrentHashMap<>();
+
+    @Override
+    E lookup(IdentityKey key) {
+      return immutableElements.get(key);
+    }
+
+    @Override
+    E store(IdentityKey key, E immutableElement) {
+      E existing = immutableElements.putIfAbsent(key, immutableElement);
+      return existing != null ? existing : immutableElement;
+    }
+
+    @Override
+    int size() {
+      return immutableElements.size();
+    }
+
+    @Override
+    ImmutableElementCache<E> newEmptyCache() {
+      return new FullCache<>();
+    }
+  }
+
+  private static final class BoundedCache<E> extends ImmutableElementCache<E> {
+
+    @Serial private static final long serialVersionUID = 1L;
+
+    private final int capacity;
+
+    // access-ordered, so the least recently used entry is evicted first. LinkedHashMap is not
+    // thread-safe, even for get() since it reorders the entries, so every access holds its lock
+    private final transient Map<IdentityKey, E> immutableElements;
+
+    BoundedCache(int capacity) {
+      this.capacity = capacity;
+      this.immutableElements =
+          new LinkedHashMap<>(16, 0.75f, true) {
+            @Serial private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<IdentityKey, E> eldest) {
+              return size() > capacity;
+            }
+          };
+    }
+
+    @Override
+    E lookup(IdentityKey key) {
+      synchronized (immutableElements) {
+        return immutableElements.get(key);
+      }
+    }
+
+    @Override
+    E store(IdentityKey key, E immutableElement) {
+      synchronized (immutableElements) {
+        E existing = immutableElements.putIfAbsent(key, immutableElement);
+        return existing != null ? existing : immutableElement;
+      }
+    }
+
+    @Override
+    int size() {
+      synchronized (immutableElements) {
+        return immutableElements.size();
+      }
+    }
+
+    @Override
+    ImmutableElementCache<E> newEmptyCache() {
+      return new BoundedCache<>(capacity);
+    }
+  }
+
+  private static final class WeakCache<E> extends ImmutableElementCache<E> {
+
+    @Serial private static final long serialVersionUID = 1L;
+
+    private final transient Map<IdentityKey, WeakValue<E>> immutableElements =
+        new ConcurrentHashMap<>();
+    private final transient ReferenceQueue<E> collectedValues = new ReferenceQueue<>();
+
+    @Override
+    E lookup(IdentityKey key) {
+      expungeCollectedValues();
+      WeakValue<E> value = immutableElements.get(key);
+      return value != null ? value.get() : null;
+    }
+
+    @Override
+    E store(IdentityKey key, E immutableElement) {
+      WeakValue<E> value =
+          immutableElements.compute(
+              key,
+              (k, existing) -> {
+                if (existing != null && existing.get() != null) {
+                  return existing;
+                }
+                return new WeakValue<>(k, immutableElement, collectedValues);
+              });
+      E storedElement = value.get();
+      return storedElement != null ? storedElement : immutableElement;
+    }
+
+    @Override
+    int size() {
+      expungeCollectedValues();
+      return immutableElements.size();
+    }
+
+    @Override
+    ImmutableElementCache<E> newEmptyCache() {
+      return new WeakCache<>();
+    }
+
+    private void expungeCollectedValues() {
+      Reference<? extends E> reference;
+      while ((reference = collectedValues.poll()) != null) {
+        WeakValue<?> value = (WeakValue<?>) reference;
+        immutableElements.remove(value.key, value);
+      }
+    }
+
+    private static final class WeakValue<E> extends WeakReference<E> {
+
+      private final IdentityKey key;
+
+      WeakValue(IdentityKey key, E value, ReferenceQueue<E> queue) {
+        super(value, queue);
+        this.key = key;
+      }
+    }
+  }
+}
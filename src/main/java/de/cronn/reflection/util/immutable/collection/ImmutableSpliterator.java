@@ -0,0 +1,51 @@
+package de.cronn.reflection.util.immutable.collection;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+class ImmutableSpliterator<E> implements Spliterator<E> {
+
+  private final DeepImmutableCollection<E> collection;
+  private final Spliterator<E> delegate;
+
+  ImmutableSpliterator(DeepImmutableCollection<E> collection, Spliterator<E> delegate) {
+    this.collection = collection;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super E> action) {
+    return delegate.tryAdvance(element -> action.accept(collection.getImmutableElement(element)));
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super E> action) {
+    delegate.forEachRemaining(
+        element -> action.accept(collection.getImmutableElement(element)));
+  }
+
+  @Override
+  public Spliterator<E> trySplit() {
+    Spliterator<E> prefix = delegate.trySplit();
+    if (prefix == null) {
+      return null;
+    }
+    return new ImmutableSpliterator<>(collection, prefix);
+  }
+
+  @Override
+  public long estimateSize() {
+    return delegate.estimateSize();
+  }
+
+  @Override
+  public long getExactSizeIfKnown() {
+    return delegate.getExactSizeIfKnown();
+  }
+
+  @Override
+  public int characteristics() {
+    // the order of the immutable proxies is not necessarily the order of the original elements
+    return delegate.characteristics() & ~SORTED;
+  }
+}
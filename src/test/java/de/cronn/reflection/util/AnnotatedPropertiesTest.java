@@ -0,0 +1,126 @@
+package de.cronn.reflection.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.beans.PropertyDescriptor;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AnnotatedPropertiesTest {
+
+  @Test
+  void testReadAll() {
+    AnnotatedProperties<Account, Sensitive> sensitiveProperties =
+        AnnotatedProperties.of(Account.class, Sensitive.class);
+
+    assertThat(sensitiveProperties.getPropertyDescriptors())
+        .extracting(PropertyDescriptor::getName)
+        .containsExactly("iban", "password");
+    assertThat(sensitiveProperties.getAnnotations())
+        .extracting(Sensitive::mask)
+        .containsExactly("****", "");
+    assertThat(sensitiveProperties).hasToString("AnnotatedProperties[Account @Sensitive]");
+
+    List<String> values = new ArrayList<>();
+    sensitiveProperties.readAll(
+        new Account("Jane", "DE89370400440532013000", "secret"),
+        (sensitive, value) -> values.add(sensitive.mask() + ":" + value));
+    assertThat(values).containsExactly("****:DE89370400440532013000", ":secret");
+
+    assertThat(AnnotatedProperties.of(Account.class, Sensitive.class))
+        .isSameAs(sensitiveProperties);
+  }
+
+  @Test
+  void testWriteAll() {
+    Account account = new Account("Jane", "DE89370400440532013000", "secret");
+
+    AnnotatedProperties.of(Account.class, Sensitive.class)
+        .writeAll(
+            account, (sensitive, value) -> sensitive.mask().isEmpty() ? null : sensitive.mask());
+
+    assertThat(account.getOwner()).isEqualTo("Jane");
+    assertThat(account.getIban()).isEqualTo("****");
+    assertThat(account.getPassword()).isNull();
+  }
+
+  @Test
+  void testWriteAll_ReadOnlyProperty() {
+    ReadOnlyAccount account = new ReadOnlyAccount();
+    AnnotatedProperties<ReadOnlyAccount, Sensitive> sensitiveProperties =
+        AnnotatedProperties.of(ReadOnlyAccount.class, Sensitive.class);
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> sensitiveProperties.writeAll(account, (sensitive, value) -> null))
+        .withMessage("ReadOnlyAccount.iban is not writable");
+  }
+
+  @Test
+  void testNoAnnotatedProperties() {
+    AnnotatedProperties<Account, Deprecated> deprecatedProperties =
+        AnnotatedProperties.of(Account.class, Deprecated.class);
+
+    assertThat(deprecatedProperties.getPropertyDescriptors()).isEmpty();
+    deprecatedProperties.readAll(
+        new Account(), (deprecated, value) -> fail("unexpected value: " + value));
+  }
+
+  @Retention(RetentionPolicy.RUNTIME)
+  @interface Sensitive {
+    String mask() default "";
+  }
+
+  public static class Account {
+
+    private String owner;
+
+    @Sensitive(mask = "****")
+    private String iban;
+
+    @Sensitive private String password;
+
+    public Account() {}
+
+    public Account(String owner, String iban, String password) {
+      this.owner = owner;
+      this.iban = iban;
+      this.password = password;
+    }
+
+    public String getOwner() {
+      return owner;
+    }
+
+    public void setOwner(String owner) {
+      this.owner = owner;
+    }
+
+    public String getIban() {
+      return iban;
+    }
+
+    public void setIban(String iban) {
+      this.iban = iban;
+    }
+
+    public String getPassword() {
+      return password;
+    }
+
+    public void setPassword(String password) {
+      this.password = password;
+    }
+  }
+
+  public static class ReadOnlyAccount {
+
+    @Sensitive private String iban;
+
+    public String getIban() {
+      return iban;
+    }
+  }
+}
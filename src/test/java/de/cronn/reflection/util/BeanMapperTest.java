@@ -0,0 +1,236 @@
+package de.cronn.reflection.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class BeanMapperTest {
+
+  @Test
+  void testMap() {
+    BeanMapper<CustomerEntity, CustomerDto> mapper =
+        BeanMapper.of(CustomerEntity.class, CustomerDto.class);
+
+    assertThat(mapper.getMappedPropertyNames())
+        .containsExactly(
+            entry("age", "age"), entry("id", "id"), entry("name", "name"), entry("score", "score"));
+
+    CustomerDto dto = mapper.map(new CustomerEntity(42L, "Jane", 30, 7));
+    assertThat(dto.getId()).isEqualTo(42L);
+    assertThat(dto.getName()).isEqualTo("Jane");
+    assertThat(dto.getAge()).isEqualTo(30L);
+    assertThat(dto.getScore()).isEqualTo(7);
+    assertThat(dto.getDisplayName()).isNull();
+
+    assertThat(mapper.map(null)).isNull();
+  }
+
+  @Test
+  void testMap_NullIsNotWrittenToPrimitive() {
+    BeanMapper<CustomerEntity, CustomerDto> mapper =
+        BeanMapper.of(CustomerEntity.class, CustomerDto.class);
+
+    CustomerDto dto = new CustomerDto();
+    dto.setScore(5);
+    mapper.map(new CustomerEntity(42L, "Jane", 30, null), dto);
+    assertThat(dto.getScore()).isEqualTo(5);
+  }
+
+  @Test
+  void testMap_TargetWithPrivateConstructor() {
+    BeanMapper<CustomerEntity, PrivateCustomerDto> mapper =
+        BeanMapper.of(CustomerEntity.class, PrivateCustomerDto.class);
+
+    PrivateCustomerDto dto = mapper.map(new CustomerEntity(42L, "Jane", 30, 7));
+    assertThat(dto.getAge()).isEqualTo(30L);
+  }
+
+  @Test
+  void testMap_FailingPrimitiveSetter() {
+    BeanMapper<CustomerEntity, FailingCustomerDto> mapper =
+        BeanMapper.of(CustomerEntity.class, FailingCustomerDto.class);
+
+    assertThatExceptionOfType(ReflectionRuntimeException.class)
+        .isThrownBy(() -> mapper.map(new CustomerEntity(42L, "Jane", -1, 7)))
+        .withMessage("Failed to map CustomerEntity.age to FailingCustomerDto.age")
+        .withCauseInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testWithRename() {
+    BeanMapper<CustomerEntity, CustomerDto> mapper =
+        BeanMapper.of(CustomerEntity.class, CustomerDto.class)
+            .withRename(CustomerEntity::getName, CustomerDto::getDisplayName);
+
+    CustomerDto dto = mapper.map(new CustomerEntity(42L, "Jane", 30, 7));
+    assertThat(dto.getName()).isEqualTo("Jane");
+    assertThat(dto.getDisplayName()).isEqualTo("Jane");
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                BeanMapper.of(CustomerEntity.class, CustomerDto.class)
+                    .withRename("age", "displayName"))
+        .withMessage(
+            "Cannot map CustomerEntity.age of type int to CustomerDto.displayName of type"
+                + " java.lang.String");
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                BeanMapper.of(CustomerEntity.class, CustomerDto.class)
+                    .withRename("unknown", "displayName"))
+        .withMessage("Property 'unknown' not found for 'CustomerEntity'");
+  }
+
+  @Test
+  void testMapAll() {
+    BeanMapper<CustomerEntity, CustomerDto> mapper =
+        BeanMapper.of(CustomerEntity.class, CustomerDto.class);
+    List<CustomerEntity> entities =
+        IntStream.range(0, 1000)
+            .mapToObj(i -> new CustomerEntity(i, "customer " + i, i, null))
+            .toList();
+
+    List<CustomerDto> sequential = mapper.mapAll(entities);
+    List<CustomerDto> parallel = mapper.mapAll(entities, true);
+
+    assertThat(sequential)
+        .extracting(CustomerDto::getId)
+        .containsExactlyElementsOf(entities.stream().map(CustomerEntity::getId).toList());
+    assertThat(parallel)
+        .extracting(CustomerDto::getName)
+        .containsExactlyElementsOf(sequential.stream().map(CustomerDto::getName).toList());
+  }
+
+  public static class CustomerEntity {
+
+    private long id;
+    private String name;
+    private int age;
+    private Integer score;
+
+    public CustomerEntity() {}
+
+    CustomerEntity(long id, String name, int age, Integer score) {
+      this.id = id;
+      this.name = name;
+      this.age = age;
+      this.score = score;
+    }
+
+    public long getId() {
+      return id;
+    }
+
+    public void setId(long id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public int getAge() {
+      return age;
+    }
+
+    public void setAge(int age) {
+      this.age = age;
+    }
+
+    public Integer getScore() {
+      return score;
+    }
+
+    public void setScore(Integer score) {
+      this.score = score;
+    }
+  }
+
+  public static class CustomerDto {
+
+    private Long id;
+    private String name;
+    private String displayName;
+    private long age;
+    private int score;
+
+    public Long getId() {
+      return id;
+    }
+
+    public void setId(Long id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public String getDisplayName() {
+      return displayName;
+    }
+
+    public void setDisplayName(String displayName) {
+      this.displayName = displayName;
+    }
+
+    public long getAge() {
+      return age;
+    }
+
+    public void setAge(long age) {
+      this.age = age;
+    }
+
+    public int getScore() {
+      return score;
+    }
+
+    public void setScore(int score) {
+      this.score = score;
+    }
+  }
+
+  public static class PrivateCustomerDto {
+
+    private long age;
+
+    private PrivateCustomerDto() {}
+
+    public long getAge() {
+      return age;
+    }
+
+    public void setAge(long age) {
+      this.age = age;
+    }
+  }
+
+  public static class FailingCustomerDto {
+
+    private long age;
+
+    public long getAge() {
+      return age;
+    }
+
+    public void setAge(long age) {
+      if (age < 0) {
+        throw new IllegalArgumentException("Negative age: " + age);
+      }
+      this.age = age;
+    }
+  }
+}
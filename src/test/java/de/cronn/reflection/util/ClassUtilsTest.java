@@ -11,6 +11,7 @@ import de.cronn.reflection.util.testclasses.EntityProtectedConstructor;
 import de.cronn.reflection.util.testclasses.EntityProtectedNoDefaultConstructor;
 import de.cronn.reflection.util.testclasses.FindMethodByArgumentTypesTestCaseClass;
 import de.cronn.reflection.util.testclasses.FindMethodByArgumentTypesTestCaseSubclass;
+import de.cronn.reflection.util.testclasses.InterfaceWithDefaultMethods;
 import de.cronn.reflection.util.testclasses.OtherClass;
 import de.cronn.reflection.util.testclasses.SomeClass;
 import de.cronn.reflection.util.testclasses.SomeTestInterface;
@@ -21,10 +22,13 @@ import jakarta.validation.constraints.Size;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -87,6 +91,28 @@ public class ClassUtilsTest {
                 + " You probably want to call ClassUtils.getRealClass(Class) instead.");
   }
 
+  @Test
+  void testGetRealClass_RegisteredProxyDetector() {
+    assertThat(ClassUtils.isProxyClass(GeneratedSubclassOfSomeClass.class)).isFalse();
+    assertThat(ClassUtils.getRealClass(new GeneratedSubclassOfSomeClass()))
+        .isSameAs(GeneratedSubclassOfSomeClass.class);
+
+    ProxyDetector proxyDetector = clazz -> clazz == GeneratedSubclassOfSomeClass.class;
+    ClassUtils.registerProxyDetector(proxyDetector);
+    try {
+      assertThat(ClassUtils.isProxyClass(GeneratedSubclassOfSomeClass.class)).isTrue();
+      assertThat(ClassUtils.isProxyClass(SomeClass.class)).isFalse();
+      assertThat(ClassUtils.getRealClass(new GeneratedSubclassOfSomeClass()))
+          .isSameAs(SomeClass.class);
+    } finally {
+      ClassUtils.unregisterProxyDetector(proxyDetector);
+    }
+
+    assertThat(ClassUtils.isProxyClass(GeneratedSubclassOfSomeClass.class)).isFalse();
+    assertThat(ClassUtils.getRealClass(new GeneratedSubclassOfSomeClass()))
+        .isSameAs(GeneratedSubclassOfSomeClass.class);
+  }
+
   private static Stream<Arguments> testMatchesWellKnownProxyClassPatternParams() {
     return Stream.of(
         Arguments.of(Object.class.getName(), false),
@@ -196,11 +222,9 @@ public class ClassUtilsTest {
   void testGetVoidMethodName_AnonymousClass() {
     SomeClass bean = new SomeClass() {};
 
-    assertThatExceptionOfType(ReflectionRuntimeException.class)
-        .isThrownBy(() -> ClassUtils.getVoidMethodName(bean, SomeClass::doOtherWork))
-        .withMessageMatching("Failed to create proxy on class .+?")
-        .withCauseExactlyInstanceOf(IllegalAccessError.class)
-        .withStackTraceContaining("cannot access its superclass");
+    // the proxy class is loaded next to the package-private anonymous class
+    assertThat(ClassUtils.getVoidMethodName(bean, SomeClass::doOtherWork))
+        .isEqualTo("doOtherWork");
   }
 
   @Test
@@ -374,6 +398,62 @@ public class ClassUtilsTest {
             ClassUtils.findMethodsByArgumentTypes(
                 FindMethodByArgumentTypesTestCaseSubclass.class, String.class, Integer.class))
         .hasSize(3);
+    assertThat(
+            ClassUtils.findMethodsByArgumentTypes(
+                FindMethodByArgumentTypesTestCaseClass.class, (Class<?>[]) null))
+        .isEmpty();
+
+    List<Method> methods =
+        ClassUtils.findMethodsByArgumentTypes(
+            FindMethodByArgumentTypesTestCaseClass.class, String.class, Integer.class);
+    methods.clear();
+    assertThat(
+            ClassUtils.findMethodsByArgumentTypes(
+                FindMethodByArgumentTypesTestCaseClass.class, String.class, Integer.class))
+        .hasSize(2);
+  }
+
+  @Test
+  void testFindMostSpecificMethodByArgumentTypes() throws Exception {
+    assertThat(
+            ClassUtils.findMostSpecificMethodByArgumentTypes(
+                FindMethodByArgumentTypesTestCaseSubclass.class, Integer.class, String.class))
+        .isEqualTo(
+            FindMethodByArgumentTypesTestCaseClass.class.getMethod(
+                "method3", Integer.class, String.class));
+    assertThat(ClassUtils.findMostSpecificMethodByArgumentTypes(EventHandler.class, String.class))
+        .isEqualTo(EventHandler.class.getMethod("handle", CharSequence.class));
+    assertThat(ClassUtils.findMostSpecificMethodByArgumentTypes(EventHandler.class, Long.class))
+        .isEqualTo(EventHandler.class.getMethod("handle", Number.class));
+    assertThat(
+            ClassUtils.findMostSpecificMethodByArgumentTypes(
+                EventHandler.class, String.class, String.class))
+        .isNull();
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                ClassUtils.findMostSpecificMethodByArgumentTypes(
+                    FindMethodByArgumentTypesTestCaseClass.class, String.class, Integer.class))
+        .withMessageStartingWith(
+            "Ambiguous methods for argument types [class java.lang.String, class java.lang.Integer]");
+  }
+
+  @Test
+  void testFindMostSpecificMethodByArgumentTypes_DoesNotCacheTypesOfOtherClassLoaders()
+      throws Exception {
+    URL testClasses = ClassUtilsTest.class.getProtectionDomain().getCodeSource().getLocation();
+    try (URLClassLoader throwawayClassLoader =
+        new URLClassLoader(new URL[] {testClasses}, ClassLoader.getPlatformClassLoader())) {
+      Class<?> throwawayType =
+          throwawayClassLoader.loadClass(ClassValuesTest.ThrowawayType.class.getName());
+      int cachedArgumentTypes = MethodArgumentTypeIndex.getCachedArgumentTypesCount(Object.class);
+
+      assertThat(ClassUtils.findMostSpecificMethodByArgumentTypes(Object.class, throwawayType))
+          .isEqualTo(Object.class.getMethod("equals", Object.class));
+      assertThat(MethodArgumentTypeIndex.getCachedArgumentTypesCount(Object.class))
+          .isEqualTo(cachedArgumentTypes);
+    }
   }
 
   @Test
@@ -406,6 +486,18 @@ public class ClassUtilsTest {
     assertThat(withoutJacocoMethods(ClassUtils.getAllDeclaredMethods(SomeClass.class))).hasSize(6);
   }
 
+  @Test
+  void testGetAllDeclaredMethods_DiamondInheritance() throws Exception {
+    Set<Method> methods = ClassUtils.getAllDeclaredMethods(DiamondBottom.class);
+    assertThat(withoutJacocoMethods(methods))
+        .containsExactly(
+            DiamondBottom.class.getMethod("bottom"),
+            DiamondLeft.class.getMethod("left"),
+            DiamondTop.class.getMethod("top"),
+            DiamondRight.class.getMethod("right"));
+    assertThat(ClassUtils.getAllDeclaredMethods(DiamondBottom.class)).isSameAs(methods);
+  }
+
   @Test
   void testGetAllDeclaredMethodSignatures() {
     Set<MethodSignature> methodsOfSomeClass =
@@ -481,6 +573,26 @@ public class ClassUtilsTest {
     }
   }
 
+  @Test
+  void testFindAnnotations() throws Exception {
+    Map<Method, ReadOnly> readOnlyMethods =
+        ClassUtils.findAnnotations(ClassWithInheritedDefaultMethods.class, ReadOnly.class);
+    assertThat(readOnlyMethods)
+        .containsKeys(
+            ClassWithInheritedDefaultMethods.class.getMethod("size"),
+            InterfaceWithDefaultMethods.class.getMethod("size"))
+        .doesNotContainKey(ClassWithInheritedDefaultMethods.class.getMethod("getId"))
+        .allSatisfy((method, annotation) -> assertThat(method.getName()).isEqualTo("size"));
+
+    Map<Method, NotNull> notNullMethods =
+        ClassUtils.findAnnotations(ClassWithInheritedDefaultMethods.class, NotNull.class);
+    assertThat(notNullMethods)
+        .containsKey(ClassWithInheritedDefaultMethods.class.getMethod("getId"))
+        .doesNotContainKey(ClassWithInheritedDefaultMethods.class.getMethod("size"));
+
+    assertThat(ClassUtils.findAnnotations(SomeClass.class, ReadOnly.class)).isEmpty();
+  }
+
   private static Set<MethodSignature> withoutJacocoMethodSignatures(
       Set<MethodSignature> methodSignatures) {
     return methodSignatures.stream()
@@ -506,6 +618,31 @@ public class ClassUtilsTest {
     return proxy;
   }
 
+  private static class GeneratedSubclassOfSomeClass extends SomeClass {}
+
+  private interface DiamondTop {
+    void top();
+  }
+
+  private interface DiamondLeft extends DiamondTop {
+    void left();
+  }
+
+  private interface DiamondRight extends DiamondTop {
+    void right();
+  }
+
+  private interface DiamondBottom extends DiamondLeft, DiamondRight {
+    void bottom();
+  }
+
+  private static class EventHandler {
+
+    public void handle(CharSequence event) {}
+
+    public void handle(Number event) {}
+  }
+
   private static Object createJdkProxy(Class<?>... interfaces) {
     return Proxy.newProxyInstance(
         ClassUtilsTest.class.getClassLoader(), interfaces, (p, method, args) -> null);
@@ -0,0 +1,112 @@
+package de.cronn.reflection.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.cronn.reflection.util.testclasses.TestEntity;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class ClassValuesTest {
+
+  @Test
+  void testInvalidate() throws Exception {
+    AtomicInteger computations = new AtomicInteger();
+    ClassValue<String> classValue =
+        ClassValues.create(
+            type -> {
+              computations.incrementAndGet();
+              return type.getName();
+            });
+
+    // only the caches of a class loader that is created by this test must be invalidated
+    try (URLClassLoader throwawayClassLoader = createThrowawayClassLoader()) {
+      Class<?> type = throwawayClassLoader.loadClass(ThrowawayType.class.getName());
+      assertThat(type).isNotSameAs(ThrowawayType.class);
+
+      assertThat(classValue.get(type)).isEqualTo(ThrowawayType.class.getName());
+      assertThat(classValue.get(type)).isEqualTo(ThrowawayType.class.getName());
+      assertThat(computations).hasValue(1);
+
+      try (URLClassLoader unrelatedClassLoader = new URLClassLoader(new URL[0], null)) {
+        ClassValues.invalidate(unrelatedClassLoader);
+      }
+      assertThat(classValue.get(type)).isEqualTo(ThrowawayType.class.getName());
+      assertThat(computations).hasValue(1);
+
+      assertThat(classValue.get(String.class)).isEqualTo("java.lang.String");
+      assertThat(computations).hasValue(2);
+
+      ClassValues.invalidate(throwawayClassLoader);
+      assertThat(classValue.get(type)).isEqualTo(ThrowawayType.class.getName());
+      assertThat(computations).hasValue(3);
+
+      assertThat(classValue.get(String.class)).isEqualTo("java.lang.String");
+      assertThat(computations).hasValue(3);
+    }
+  }
+
+  @Test
+  @Timeout(30)
+  void testCreateComputedOnce_ConcurrentAccess() throws Exception {
+    AtomicInteger computations = new AtomicInteger();
+    ClassValue<Supplier<Object>> classValue =
+        ClassValues.createComputedOnce(
+            type -> {
+              computations.incrementAndGet();
+              try {
+                // keep the computation running while the other threads arrive
+                Thread.sleep(100);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              return new Object();
+            });
+
+    int numThreads = 8;
+    ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+    Set<Object> values = new HashSet<>();
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      CompletionService<Object> completionService =
+          new ExecutorCompletionService<>(executorService);
+      for (int i = 0; i < numThreads; i++) {
+        completionService.submit(
+            () -> {
+              start.await();
+              return classValue.get(TestEntity.class).get();
+            });
+      }
+      start.countDown();
+      for (int i = 0; i < numThreads; i++) {
+        values.add(completionService.take().get());
+      }
+    } finally {
+      executorService.shutdown();
+    }
+
+    assertThat(values).hasSize(1);
+    assertThat(computations).hasValue(1);
+
+    classValue.remove(TestEntity.class);
+    assertThat(classValue.get(TestEntity.class).get()).isNotIn(values);
+    assertThat(computations).hasValue(2);
+  }
+
+  private static URLClassLoader createThrowawayClassLoader() {
+    URL testClasses = ClassValuesTest.class.getProtectionDomain().getCodeSource().getLocation();
+    return new URLClassLoader(new URL[] {testClasses}, ClassLoader.getPlatformClassLoader());
+  }
+
+  public static class ThrowawayType {}
+}
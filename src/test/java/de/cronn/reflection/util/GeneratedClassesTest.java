@@ -0,0 +1,109 @@
+package de.cronn.reflection.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.cronn.reflection.util.immutable.ImmutableProxy;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class GeneratedClassesTest {
+
+  @Test
+  void testProxyClassIsLoadedNextToTargetClass() {
+    long generatedClassCount = GeneratedClasses.getGeneratedClassCount();
+
+    String propertyName = PropertyUtils.getPropertyName(SomeBean.class, SomeBean::getValue);
+
+    assertThat(propertyName).isEqualTo("value");
+    assertThat(GeneratedClasses.getGeneratedClassCount()).isGreaterThan(generatedClassCount);
+    assertThat(GeneratedClasses.getLoadedClassCount()).isPositive();
+
+    SomeBean immutableProxy = ImmutableProxy.create(new SomeBean());
+    Class<?> proxyClass = immutableProxy.getClass();
+    assertThat(proxyClass.getClassLoader()).isSameAs(SomeBean.class.getClassLoader());
+    assertThat(proxyClass.getPackageName()).isEqualTo(SomeBean.class.getPackageName());
+  }
+
+  @Test
+  void testProxyClassOfJdkClass() {
+    Date immutableDate = ImmutableProxy.create(new Date(12345L));
+
+    assertThat(immutableDate.getClass().getClassLoader()).isNotNull();
+    assertThat(immutableDate.getTime()).isEqualTo(12345L);
+  }
+
+  @Test
+  @Timeout(30)
+  void testProxyClassesAreGeneratedOnceOnConcurrentFirstAccess() throws Exception {
+    int numThreads = 8;
+    ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+    Set<Class<?>> methodCapturingProxyClasses = new HashSet<>();
+    Set<Class<?>> immutableProxyClasses = new HashSet<>();
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      CompletionService<List<Class<?>>> completionService =
+          new ExecutorCompletionService<>(executorService);
+      for (int i = 0; i < numThreads; i++) {
+        completionService.submit(
+            () -> {
+              start.await();
+              PropertyUtils.getPropertyName(OtherBean.class, OtherBean::getValue);
+              return List.of(
+                  PropertyUtils.getCache(OtherBean.class).getMethodCapturingProxy(),
+                  ImmutableProxy.create(new OtherBean()).getClass());
+            });
+      }
+      start.countDown();
+      for (int i = 0; i < numThreads; i++) {
+        List<Class<?>> proxyClasses = completionService.take().get();
+        methodCapturingProxyClasses.add(proxyClasses.get(0));
+        immutableProxyClasses.add(proxyClasses.get(1));
+      }
+    } finally {
+      executorService.shutdown();
+    }
+
+    // all threads see the same generated classes
+    assertThat(methodCapturingProxyClasses).hasSize(1);
+    assertThat(immutableProxyClasses).hasSize(1);
+    assertThat(PropertyUtils.getCache(OtherBean.class).getMethodCapturingProxy())
+        .isSameAs(methodCapturingProxyClasses.iterator().next());
+    assertThat(ImmutableProxy.create(new OtherBean()).getClass())
+        .isSameAs(immutableProxyClasses.iterator().next());
+  }
+
+  public static class SomeBean {
+
+    private String value;
+
+    public String getValue() {
+      return value;
+    }
+
+    public void setValue(String value) {
+      this.value = value;
+    }
+  }
+
+  public static class OtherBean {
+
+    private String value;
+
+    public String getValue() {
+      return value;
+    }
+
+    public void setValue(String value) {
+      this.value = value;
+    }
+  }
+}
@@ -1,12 +1,39 @@
 package de.cronn.reflection.util;
 
+import static org.assertj.core.api.Assertions.*;
+
+import de.cronn.reflection.util.testclasses.SomeClass;
+import java.lang.reflect.Method;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.jupiter.api.Test;
 
 class MethodSignatureTest {
 
   @Test
-  void testEquals() {
-    EqualsVerifier.forClass(MethodSignature.class).verify();
+  void testEquals() throws Exception {
+    MethodSignature example = new MethodSignature(Object.class.getMethod("toString"));
+    EqualsVerifier.forClass(MethodSignature.class)
+        .withCachedHashCode("hashCode", "calculateHashCode", example)
+        .withIgnoredFields("parameterTypeNames")
+        .verify();
+  }
+
+  @Test
+  void testOf() throws Exception {
+    Method method = Object.class.getMethod("equals", Object.class);
+    assertThat(MethodSignature.of(method)).isSameAs(MethodSignature.of(method));
+    assertThat(MethodSignature.of(method)).isEqualTo(new MethodSignature(method));
+    assertThat(MethodSignature.of(method)).hasToString("boolean equals(java.lang.Object)");
+  }
+
+  @Test
+  void testCompareTo() throws Exception {
+    Method doWorkMethod = SomeClass.class.getMethod("doWork", int.class);
+    MethodSignature doWork = MethodSignature.of(doWorkMethod);
+    MethodSignature doWorkTwice =
+        MethodSignature.of(SomeClass.class.getMethod("doWork", int.class, int.class));
+    MethodSignature doOtherWork = MethodSignature.of(SomeClass.class.getMethod("doOtherWork"));
+    assertThat(doWork).isLessThan(doWorkTwice).isGreaterThan(doOtherWork);
+    assertThat(doWork.compareTo(new MethodSignature(doWorkMethod))).isZero();
   }
 }
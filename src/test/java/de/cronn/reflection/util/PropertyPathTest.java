@@ -0,0 +1,101 @@
+package de.cronn.reflection.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.cronn.reflection.util.testclasses.Address;
+import de.cronn.reflection.util.testclasses.City;
+import de.cronn.reflection.util.testclasses.Customer;
+import java.beans.PropertyDescriptor;
+import org.junit.jupiter.api.Test;
+
+class PropertyPathTest {
+
+  @Test
+  void testCompile() {
+    PropertyPath<Customer, String> path = PropertyPath.compile(Customer.class, "address.city.zip");
+
+    assertThat(path.getPath()).isEqualTo("address.city.zip");
+    assertThat(path.getRootType()).isSameAs(Customer.class);
+    assertThat(path.getPropertyDescriptors())
+        .extracting(PropertyDescriptor::getName)
+        .containsExactly("address", "city", "zip");
+    assertThat(path).hasToString("Customer.address.city.zip");
+    assertThat(PropertyPath.compile(Customer.class, "address.city.zip")).isSameAs(path);
+  }
+
+  @Test
+  void testCompile_UnknownProperty() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> PropertyPath.compile(Customer.class, "address.country"))
+        .withMessage("Property 'country' not found for 'Address'");
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> PropertyPath.compile(Customer.class, ""))
+        .withMessage("Property path must not be empty: ");
+  }
+
+  @Test
+  void testRead() {
+    PropertyPath<Customer, String> path = PropertyPath.compile(Customer.class, "address.city.zip");
+
+    Customer customer = new Customer();
+    assertThat(path.read(customer)).isNull();
+
+    customer.setAddress(new Address());
+    assertThat(path.read(customer)).isNull();
+
+    customer.getAddress().setCity(new City());
+    customer.getAddress().getCity().setZip("12345");
+    assertThat(path.read(customer)).isEqualTo("12345");
+  }
+
+  @Test
+  void testRead_FailingGetter() {
+    PropertyPath<FailingBean, String> path = PropertyPath.compile(FailingBean.class, "value");
+
+    assertThatExceptionOfType(ReflectionRuntimeException.class)
+        .isThrownBy(() -> path.read(new FailingBean()))
+        .withMessage("Failed to read FailingBean.value")
+        .withRootCauseExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void testWrite() {
+    PropertyPath<Customer, String> path = PropertyPath.compile(Customer.class, "address.city.zip");
+
+    Customer customer = new Customer();
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> path.write(customer, "12345"))
+        .withMessage("Cannot write Customer.address.city.zip: address is null");
+
+    path.write(customer, "12345", true);
+    assertThat(customer.getAddress().getCity().getZip()).isEqualTo("12345");
+
+    Address address = customer.getAddress();
+    path.write(customer, "54321");
+    assertThat(customer.getAddress()).isSameAs(address);
+    assertThat(address.getCity().getZip()).isEqualTo("54321");
+  }
+
+  @Test
+  void testTypedPath() {
+    PropertyPath<Customer, String> path =
+        PropertyPath.of(Customer.class, Customer::getAddress)
+            .then(Address::getCity)
+            .then(City::getName);
+
+    assertThat(path.getPath()).isEqualTo("address.city.name");
+
+    Customer customer = new Customer();
+    path.write(customer, "Munich", true);
+    assertThat(path.read(customer)).isEqualTo("Munich");
+    assertThat(customer.getAddress().getCity().getName()).isEqualTo("Munich");
+  }
+
+  public static class FailingBean {
+
+    public String getValue() {
+      throw new IllegalStateException("not available");
+    }
+  }
+}
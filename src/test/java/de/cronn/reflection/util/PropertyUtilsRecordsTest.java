@@ -9,6 +9,7 @@ import java.math.BigDecimal;
 import java.util.AbstractList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
@@ -41,6 +42,15 @@ class PropertyUtilsRecordsTest {
     assertThat(propertyNames).containsExactly("a", "b", "class", "id");
   }
 
+  @Test
+  void testToMapAndFromMap() {
+    Map<String, Object> map = PropertyUtils.toMap(new Point(1, 2));
+    assertThat(map).containsExactly(entry("x", 1), entry("y", 2));
+    assertThat(PropertyUtils.fromMap(Point.class, map)).isEqualTo(new Point(1, 2));
+
+    assertThat(PropertyUtils.fromMap(Point.class, Map.of("y", 3))).isEqualTo(new Point(0, 3));
+  }
+
   @Test
   void testGetPropertyName_multipleBooleanPrimitives() {
     record TestRecord(boolean bool1, boolean bool2, boolean bool3, boolean bool4, boolean bool5) {}
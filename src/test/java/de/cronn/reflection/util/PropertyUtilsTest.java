@@ -3,6 +3,7 @@ package de.cronn.reflection.util;
 import static de.cronn.reflection.util.TestUtils.*;
 import static org.assertj.core.api.Assertions.*;
 
+import de.cronn.reflection.util.testclasses.Address;
 import de.cronn.reflection.util.testclasses.BaseClass;
 import de.cronn.reflection.util.testclasses.BaseInterface;
 import de.cronn.reflection.util.testclasses.BaseUserEntity;
@@ -12,6 +13,7 @@ import de.cronn.reflection.util.testclasses.ClassWithDefaultMethods;
 import de.cronn.reflection.util.testclasses.ClassWithInheritedDefaultMethods;
 import de.cronn.reflection.util.testclasses.ClassWithMethodCaptorField;
 import de.cronn.reflection.util.testclasses.ClassWithPrimitives;
+import de.cronn.reflection.util.testclasses.Customer;
 import de.cronn.reflection.util.testclasses.DerivedClass;
 import de.cronn.reflection.util.testclasses.EntityProtectedNoDefaultConstructor;
 import de.cronn.reflection.util.testclasses.EntityWithOverwrittenAnnotations;
@@ -26,11 +28,19 @@ import de.cronn.reflection.util.testclasses.TestEntity;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.beans.PropertyDescriptor;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Collection;
+import java.util.IntSummaryStatistics;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.LongSummaryStatistics;
 import java.util.Map;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutorCompletionService;
@@ -1193,6 +1203,208 @@ class PropertyUtilsTest {
     assertThat(proxy1).isNotSameAs(proxy3);
   }
 
+  @Test
+  void testToMap() {
+    Address address = new Address();
+    Customer customer = new Customer();
+    customer.setName("Jane");
+    customer.setAddress(address);
+
+    Map<String, Object> map = PropertyUtils.toMap(customer);
+    assertThat(map).containsExactly(entry("address", address), entry("name", "Jane"));
+    assertThat(map).isEqualTo(Map.of("address", address, "name", "Jane"));
+    assertThat(map.get("unknown")).isNull();
+
+    map.put("name", "John");
+    assertThat(map).containsEntry("name", "John");
+    assertThat(customer.getName()).isEqualTo("Jane");
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> map.put("unknown", "value"))
+        .withMessage("Property 'unknown' not found for 'Customer'");
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> map.remove("name"));
+    assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(map::clear);
+  }
+
+  @Test
+  void testToMap_Serializable() throws Exception {
+    Customer customer = new Customer();
+    customer.setName("Jane");
+
+    Map<String, Object> map = PropertyUtils.toMap(customer);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(map);
+    }
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      Object deserialized = in.readObject();
+      assertThat(deserialized).isInstanceOf(LinkedHashMap.class).isEqualTo(map);
+    }
+  }
+
+  @Test
+  void testFromMap() {
+    Address address = new Address();
+    Customer customer = new Customer();
+    customer.setName("Jane");
+    customer.setAddress(address);
+
+    Customer copy = PropertyUtils.fromMap(Customer.class, PropertyUtils.toMap(customer));
+    assertThat(copy).isNotSameAs(customer);
+    assertThat(copy.getName()).isEqualTo("Jane");
+    assertThat(copy.getAddress()).isSameAs(address);
+
+    Customer partial = PropertyUtils.fromMap(Customer.class, Map.of("name", "John"));
+    assertThat(partial.getName()).isEqualTo("John");
+    assertThat(partial.getAddress()).isNull();
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> PropertyUtils.fromMap(Customer.class, Map.of("unknown", "value")))
+        .withMessage("Property 'unknown' not found for 'Customer'");
+
+    assertThatExceptionOfType(ReflectionRuntimeException.class)
+        .isThrownBy(() -> PropertyUtils.fromMap(Customer.class, Map.of("name", 42)))
+        .withMessage("Failed to write Customer.name");
+  }
+
+  @Test
+  @Timeout(30)
+  void testFromMap_ConcurrentlyWithPrivateConstructor() throws Exception {
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try {
+      CompletionService<Void> completionService = new ExecutorCompletionService<>(executorService);
+      for (int i = 0; i < 4; i++) {
+        String name = "bean " + i;
+        completionService.submit(
+            () -> {
+              for (int r = 0; r < 1000; r++) {
+                PrivateBean bean = PropertyUtils.fromMap(PrivateBean.class, Map.of("name", name));
+                assertThat(bean.getName()).isEqualTo(name);
+              }
+              return null;
+            });
+      }
+      for (int i = 0; i < 4; i++) {
+        completionService.take().get();
+      }
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  @Test
+  void testReadAndWritePrimitives() {
+    TestEntity testEntity = new TestEntity(7);
+    PropertyDescriptor numberProperty =
+        PropertyUtils.getPropertyDescriptor(TestEntity.class, TestEntity::getNumber);
+
+    assertThat(PropertyUtils.readInt(testEntity, numberProperty)).isEqualTo(7);
+    assertThat(PropertyUtils.readInt(testEntity, TestEntity::getNumber)).isEqualTo(7);
+    assertThat(PropertyUtils.readLong(testEntity, numberProperty)).isEqualTo(7L);
+    assertThat(PropertyUtils.readDouble(testEntity, numberProperty)).isEqualTo(7.0);
+
+    PropertyUtils.writeInt(testEntity, numberProperty, 42);
+    assertThat(testEntity.getNumber()).isEqualTo(42);
+    PropertyUtils.writeInt(testEntity, TestEntity::getNumber, 43);
+    assertThat(testEntity.getNumber()).isEqualTo(43);
+
+    ClassWithPrimitives bean = new ClassWithPrimitives();
+    PropertyUtils.writeLong(bean, ClassWithPrimitives::getLargeNumber, Long.MAX_VALUE);
+    PropertyUtils.writeBoolean(bean, ClassWithPrimitives::isActive, true);
+    assertThat(PropertyUtils.readLong(bean, ClassWithPrimitives::getLargeNumber))
+        .isEqualTo(Long.MAX_VALUE);
+    assertThat(PropertyUtils.readBoolean(bean, ClassWithPrimitives::isActive)).isTrue();
+    assertThat(PropertyUtils.readDouble(bean, ClassWithPrimitives::getDoubleNumber)).isZero();
+
+    PropertyDescriptor largeNumberProperty =
+        PropertyUtils.getPropertyDescriptorByNameOrThrow(bean, "largeNumber");
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> PropertyUtils.readInt(bean, largeNumberProperty))
+        .withMessage("largeNumber is of type long and cannot be read as int");
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(
+            () -> PropertyUtils.writeDouble(bean, ClassWithPrimitives::getDoubleNumber, 1.0))
+        .withMessage("doubleNumber is not writable");
+
+    PropertyDescriptor floatingNumberProperty =
+        PropertyUtils.getPropertyDescriptor(bean, ClassWithPrimitives::getFloatingNumber);
+    PropertyDescriptor activeProperty =
+        PropertyUtils.getPropertyDescriptor(bean, ClassWithPrimitives::isActive);
+    assertThat(PropertyUtils.hasDefaultValue(bean, floatingNumberProperty)).isTrue();
+    assertThat(PropertyUtils.hasDefaultValue(bean, largeNumberProperty)).isFalse();
+    assertThat(PropertyUtils.hasDefaultValue(bean, activeProperty)).isFalse();
+    PropertyUtils.writeBoolean(bean, activeProperty, false);
+    assertThat(PropertyUtils.hasDefaultValue(bean, activeProperty)).isTrue();
+  }
+
+  @Test
+  void testExtractAndSummarize() {
+    List<TestEntity> entities = List.of(new TestEntity(3), new TestEntity(1), new TestEntity(2));
+    assertThat(PropertyUtils.extractInts(entities, TestEntity::getNumber)).containsExactly(3, 1, 2);
+
+    IntSummaryStatistics statistics = PropertyUtils.summarizeInts(entities, TestEntity::getNumber);
+    assertThat(statistics.getSum()).isEqualTo(6);
+    assertThat(statistics.getMin()).isEqualTo(1);
+    assertThat(statistics.getMax()).isEqualTo(3);
+    assertThat(statistics.getAverage()).isEqualTo(2.0);
+
+    List<ClassWithPrimitives> beans = List.of(new ClassWithPrimitives(), new ClassWithPrimitives());
+    assertThat(PropertyUtils.extractDoubles(beans, ClassWithPrimitives::getDoubleNumber))
+        .containsExactly(0.0, 0.0);
+    assertThat(PropertyUtils.summarizeDoubles(beans, ClassWithPrimitives::getDoubleNumber).getMax())
+        .isEqualTo(0.0);
+
+    List<DerivedClass> beansWithBoxedProperty = List.of(new DerivedClass());
+    assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                PropertyUtils.extractLongs(
+                    beansWithBoxedProperty, DerivedClass::getLongPropertyWithPackageAccessSetter))
+        .withMessage("Property value of element 0 is null");
+  }
+
+  @Test
+  void testExtractAndSummarize_LargeInput() {
+    int size = NumericPropertyExtractor.PARALLEL_THRESHOLD * 2;
+    List<ClassWithPrimitives> beans = new LinkedList<>();
+    for (int i = 0; i < size; i++) {
+      ClassWithPrimitives bean = new ClassWithPrimitives();
+      bean.setLargeNumber(i);
+      beans.add(bean);
+    }
+
+    long[] values = PropertyUtils.extractLongs(beans, ClassWithPrimitives::getLargeNumber);
+    assertThat(values).hasSize(size);
+    for (int i = 0; i < size; i++) {
+      assertThat(values[i]).isEqualTo(i);
+    }
+
+    LongSummaryStatistics statistics =
+        PropertyUtils.summarizeLongs(beans, ClassWithPrimitives::getLargeNumber);
+    assertThat(statistics.getCount()).isEqualTo(size);
+    assertThat(statistics.getSum()).isEqualTo((long) size * (size - 1) / 2);
+    assertThat(statistics.getMin()).isZero();
+    assertThat(statistics.getMax()).isEqualTo(size - 1);
+  }
+
+  private static class PrivateBean {
+
+    private String name;
+
+    private PrivateBean() {}
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
   private static List<String> collectPropertyNames(
       Collection<PropertyDescriptor> propertyDescriptors) {
     return propertyDescriptors.stream()
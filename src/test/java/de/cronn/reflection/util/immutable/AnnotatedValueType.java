@@ -0,0 +1,15 @@
+package de.cronn.reflection.util.immutable;
+
+@ImmutableType
+public class AnnotatedValueType {
+
+  private final String value;
+
+  public AnnotatedValueType(String value) {
+    this.value = value;
+  }
+
+  public String getValue() {
+    return value;
+  }
+}
@@ -0,0 +1,26 @@
+package de.cronn.reflection.util.immutable;
+
+import de.cronn.reflection.util.testclasses.OtherTestEntity;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ClassWithUnproxyableProperty {
+
+  private AtomicLong counter;
+  private OtherTestEntity otherTestEntity;
+
+  public AtomicLong getCounter() {
+    return counter;
+  }
+
+  public void setCounter(AtomicLong counter) {
+    this.counter = counter;
+  }
+
+  public OtherTestEntity getOtherTestEntity() {
+    return otherTestEntity;
+  }
+
+  public void setOtherTestEntity(OtherTestEntity otherTestEntity) {
+    this.otherTestEntity = otherTestEntity;
+  }
+}
@@ -34,7 +34,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -256,6 +258,105 @@ public class ImmutableProxyTest {
         .withMessage("This list is immutable");
   }
 
+  @Test
+  void testImmutableProxy_CollectionWithImmutableElementType() {
+    TestEntity original = new TestEntity();
+    original.setSomeSet(Set.of("a", "b"));
+    original.setSomeList(List.of(new OtherTestEntity("one")));
+
+    TestEntity immutableProxy = ImmutableProxy.create(original);
+
+    assertThat(immutableProxy.getSomeSet()).isSameAs(original.getSomeSet());
+    assertThat(immutableProxy.getSomeList()).isInstanceOf(DeepImmutableList.class);
+
+    original.setSomeSet(new LinkedHashSet<>(Set.of("a")));
+    Set<String> immutableSet = immutableProxy.getSomeSet();
+    assertThat(immutableSet).isInstanceOf(DeepImmutableSet.class).containsExactly("a");
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> immutableSet.add("b"))
+        .withMessage("This set is immutable");
+
+    OtherTestEntity otherTestEntity = new OtherTestEntity();
+    otherTestEntity.getChildren().add("child");
+    OtherTestEntity immutableOtherTestEntity = ImmutableProxy.create(otherTestEntity);
+    assertThat(immutableOtherTestEntity.getChildren())
+        .isInstanceOf(DeepImmutableList.class)
+        .containsExactly("child");
+  }
+
+  @Test
+  @Timeout(TEST_TIMEOUT_SECONDS)
+  void testPrepare() throws Exception {
+    assertThat(ImmutableProxyClassCollector.collect(TestEntity.class))
+        .contains(TestEntity.class, OtherTestEntity.class)
+        .doesNotContain(String.class, List.class, Set.class, Map.class, UUID.class);
+
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try {
+      ImmutableProxy.prepare(TestEntity.class, executorService)
+          .get(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } finally {
+      executorService.shutdown();
+    }
+
+    TestEntity original = new TestEntity(123);
+    original.setOtherTestEntity(new OtherTestEntity("other"));
+    TestEntity immutableProxy = ImmutableProxy.create(original);
+    assertThat(immutableProxy.getOtherTestEntity().getImmutableValue()).isEqualTo("other");
+  }
+
+  @Test
+  @Timeout(TEST_TIMEOUT_SECONDS)
+  void testPrepare_ReportsUnproxyableTypesTogether() throws Exception {
+    assertThat(ImmutableProxyClassCollector.collect(ClassWithUnproxyableProperty.class))
+        .contains(ClassWithUnproxyableProperty.class, AtomicLong.class, OtherTestEntity.class);
+
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try {
+      CompletableFuture<Void> preparation =
+          ImmutableProxy.prepare(ClassWithUnproxyableProperty.class, executorService);
+      assertThat(preparation)
+          .failsWithin(Duration.ofSeconds(TEST_TIMEOUT_SECONDS))
+          .withThrowableOfType(ExecutionException.class)
+          .havingCause()
+          .isInstanceOf(IllegalArgumentException.class)
+          .withMessage(
+              "Failed to prepare the immutable proxy classes of "
+                  + ClassWithUnproxyableProperty.class
+                  + " for java.util.concurrent.atomic.AtomicLong");
+    } finally {
+      executorService.shutdown();
+    }
+
+    // the other types were prepared nevertheless
+    ClassWithUnproxyableProperty original = new ClassWithUnproxyableProperty();
+    original.setOtherTestEntity(new OtherTestEntity("other"));
+    ClassWithUnproxyableProperty immutableProxy = ImmutableProxy.create(original);
+    assertThat(immutableProxy.getOtherTestEntity().getImmutableValue()).isEqualTo("other");
+  }
+
+  @Test
+  void testForEachReadOnly() {
+    List<TestEntity> original = List.of(new TestEntity(1), new TestEntity(2));
+
+    List<Integer> numbers = new ArrayList<>();
+    List<TestEntity> visitedElements = new ArrayList<>();
+    ImmutableProxy.forEachReadOnly(
+        original,
+        testEntity -> {
+          numbers.add(testEntity.getNumber());
+          visitedElements.add(testEntity);
+        });
+
+    assertThat(numbers).containsExactly(1, 2);
+    assertThat(visitedElements.get(0)).isSameAs(visitedElements.get(1));
+    assertThat(ImmutableProxy.unwrap(visitedElements.get(0))).isSameAs(original.get(1));
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> visitedElements.get(0).setNumber(3))
+        .withMessage(IMMUTABLE_EXCEPTION_MESSAGE);
+  }
+
   @Test
   void testImmutableProxy_TooSpecificReturnType() {
     TestEntity original = new TestEntity();
@@ -267,14 +368,15 @@ public class ImmutableProxyTest {
         .withMessage(
             "Cannot create immutable collection for TestEntity.getSomeArrayList."
                 + " The return type is unknown or too specific: class java.util.ArrayList."
-                + " Consider to define a more generic type: Set/List/Collection");
+                + " Consider to define a more generic type:"
+                + " Set/SortedSet/NavigableSet/List/Queue/Deque/Collection");
 
     assertThatExceptionOfType(UnsupportedOperationException.class)
         .isThrownBy(immutableProxy::getSomeTreeMap)
         .withMessage(
             "Cannot create immutable map for TestEntity.getSomeTreeMap."
                 + " The return type is unknown or too specific: class java.util.TreeMap."
-                + " Consider to define a more generic type: Map");
+                + " Consider to define a more generic type: Map/SortedMap/NavigableMap");
   }
 
   @Test
@@ -472,6 +574,40 @@ public class ImmutableProxyTest {
     assertThat(ImmutableProxy.create(value)).isSameAs(value);
   }
 
+  @Test
+  void testImmutableProxyOnAnnotatedImmutableType() {
+    assertThat(ImmutableProxy.isImmutable(AnnotatedValueType.class)).isTrue();
+    assertImmutableProxyReturnsSameInstance(new AnnotatedValueType("abc"));
+  }
+
+  @Test
+  void testImmutableProxyOnRegisteredImmutableType() {
+    RegisteredValueType value = new RegisteredValueType(BigDecimal.TEN);
+
+    assertThat(ImmutableProxy.isImmutable(RegisteredValueType.class)).isFalse();
+    assertThat(ImmutableProxy.isImmutableProxy(ImmutableProxy.create(value))).isTrue();
+
+    ImmutableProxy.registerImmutableType(RegisteredValueType.class);
+
+    assertThat(ImmutableProxy.isImmutable(RegisteredValueType.class)).isTrue();
+    assertImmutableProxyReturnsSameInstance(value);
+  }
+
+  @Test
+  void testRegisterImmutableTypeAfterGetterWasProxied() {
+    LateRegisteredValueHolder holder =
+        new LateRegisteredValueHolder(List.of(new LateRegisteredValueType("abc")));
+
+    List<LateRegisteredValueType> values = ImmutableProxy.create(holder).getValues();
+    assertThat(values).isInstanceOf(DeepImmutableList.class);
+    assertThat(ImmutableProxy.isImmutableProxy(values.get(0))).isTrue();
+
+    ImmutableProxy.registerImmutableType(LateRegisteredValueType.class);
+
+    // the unmodifiable list of immutable elements is returned as it is
+    assertThat(ImmutableProxy.create(holder).getValues()).isSameAs(holder.getValues());
+  }
+
   @Test
   void testImmutableProxyOnMutableNumber() {
     MutableLong mutableLong = new MutableLong(25);
@@ -530,6 +666,42 @@ public class ImmutableProxyTest {
     assertThat(proxy2).isSameAs(proxy1);
   }
 
+  @Test
+  void testCanonicalProxies() {
+    TestEntity original = new TestEntity(123);
+
+    TestEntity proxy1 = ImmutableProxy.create(original, ImmutableProxyOption.CANONICAL_PROXIES);
+    TestEntity proxy2 = ImmutableProxy.create(original, ImmutableProxyOption.CANONICAL_PROXIES);
+    TestEntity proxyWithOtherOptions =
+        ImmutableProxy.create(
+            original,
+            ImmutableProxyOption.CANONICAL_PROXIES,
+            ImmutableProxyOption.ALLOW_CLONING_RECORDS);
+
+    assertThat(proxy1).isSameAs(proxy2);
+    assertThat(proxyWithOtherOptions).isNotSameAs(proxy1);
+    assertThat(ImmutableProxy.create(original)).isNotSameAs(ImmutableProxy.create(original));
+    assertThat(ImmutableProxy.getCanonicalProxyCacheSize()).isGreaterThanOrEqualTo(2);
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> proxy1.setNumber(456))
+        .withMessage(IMMUTABLE_EXCEPTION_MESSAGE);
+  }
+
+  @Test
+  void testCanonicalProxies_ReferencedEntity() {
+    OtherTestEntity sharedEntity = new OtherTestEntity("shared");
+    TestEntity first = new TestEntity(1);
+    first.setOtherTestEntity(sharedEntity);
+    TestEntity second = new TestEntity(2);
+    second.setOtherTestEntity(sharedEntity);
+
+    TestEntity firstProxy = ImmutableProxy.create(first, ImmutableProxyOption.CANONICAL_PROXIES);
+    TestEntity secondProxy = ImmutableProxy.create(second, ImmutableProxyOption.CANONICAL_PROXIES);
+
+    assertThat(firstProxy.getOtherTestEntity()).isSameAs(secondProxy.getOtherTestEntity());
+  }
+
   @Test
   @Timeout(TEST_TIMEOUT_SECONDS)
   void testConcurrentlyCreateProxy() throws Exception {
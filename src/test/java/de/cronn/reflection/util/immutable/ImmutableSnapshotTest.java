@@ -0,0 +1,313 @@
+package de.cronn.reflection.util.immutable;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.cronn.reflection.util.immutable.collection.DeepImmutableDeque;
+import de.cronn.reflection.util.immutable.collection.DeepImmutableList;
+import de.cronn.reflection.util.immutable.collection.DeepImmutableNavigableMap;
+import de.cronn.reflection.util.immutable.collection.DeepImmutableNavigableSet;
+import de.cronn.reflection.util.testclasses.EntityWithSortedCollections;
+import de.cronn.reflection.util.testclasses.OtherTestEntity;
+import de.cronn.reflection.util.testclasses.TestEntity;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class ImmutableSnapshotTest {
+
+  @Test
+  void testSnapshotOfBean() {
+    TestEntity original = new TestEntity(123);
+    original.setOtherTestEntity(new OtherTestEntity("other"));
+    original.setSomeList(new ArrayList<>(List.of(new OtherTestEntity("a"))));
+    original.setSomeSet(new LinkedHashSet<>(List.of("x", "y")));
+
+    TestEntity snapshot = ImmutableSnapshot.of(original);
+
+    assertThat(ImmutableProxy.isImmutableProxy(snapshot)).isTrue();
+    assertThat(ImmutableProxy.unwrap(snapshot)).isNotSameAs(original);
+    assertThat(snapshot.getNumber()).isEqualTo(123);
+    assertThat(snapshot.getOtherTestEntity().getImmutableValue()).isEqualTo("other");
+    assertThat(snapshot.getSomeSet()).containsExactly("x", "y");
+    assertThat(snapshot.getSomeList()).hasSize(1).isNotInstanceOf(DeepImmutableList.class);
+    assertThat(snapshot.getSomeList()).isSameAs(snapshot.getSomeList());
+    assertThat(snapshot.getSomeList().get(0)).isSameAs(snapshot.getSomeList().get(0));
+
+    original.setNumber(456);
+    original.getOtherTestEntity().setName("changed");
+    original.getSomeList().add(new OtherTestEntity("b"));
+    original.getSomeSet().add("z");
+
+    assertThat(snapshot.getNumber()).isEqualTo(123);
+    assertThat(snapshot.getOtherTestEntity().getName()).isNull();
+    assertThat(snapshot.getSomeList()).hasSize(1);
+    assertThat(snapshot.getSomeSet()).containsExactly("x", "y");
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> snapshot.setNumber(456))
+        .withMessage(ImmutableProxyTest.IMMUTABLE_EXCEPTION_MESSAGE);
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> snapshot.getSomeList().get(0).setName("new name"))
+        .withMessage(ImmutableProxyTest.IMMUTABLE_EXCEPTION_MESSAGE);
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> snapshot.getSomeList().clear());
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> snapshot.getOtherTestEntity().getChildren().add("child"));
+  }
+
+  @Test
+  void testSnapshotViaOption() {
+    TestEntity original = new TestEntity(123);
+
+    TestEntity snapshot = ImmutableProxy.create(original, ImmutableProxyOption.SNAPSHOT);
+
+    original.setNumber(456);
+    assertThat(snapshot.getNumber()).isEqualTo(123);
+
+    List<String> list = new ArrayList<>(List.of("a"));
+    List<String> listSnapshot = ImmutableProxy.create(list, ImmutableProxyOption.SNAPSHOT);
+    list.add("b");
+    assertThat(listSnapshot).containsExactly("a");
+  }
+
+  @Test
+  void testSnapshotPreservesSharedReferences() {
+    OtherTestEntity shared = new OtherTestEntity("shared");
+    List<OtherTestEntity> original = Arrays.asList(shared, null, shared);
+
+    List<OtherTestEntity> snapshot = ImmutableSnapshot.of(original);
+
+    assertThat(snapshot).hasSize(3);
+    assertThat(snapshot.get(0)).isSameAs(snapshot.get(2));
+    assertThat(snapshot.get(1)).isNull();
+  }
+
+  @Test
+  void testSnapshotOfMap() {
+    Map<String, OtherTestEntity> original = new LinkedHashMap<>();
+    original.put("b", new OtherTestEntity("b"));
+    original.put("a", new OtherTestEntity("a"));
+
+    Map<String, OtherTestEntity> snapshot = ImmutableSnapshot.of(original);
+    original.clear();
+
+    assertThat(snapshot).containsOnlyKeys("b", "a");
+    assertThat(snapshot.keySet()).containsExactly("b", "a");
+    assertThat(snapshot.get("a").getImmutableValue()).isEqualTo("a");
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> snapshot.put("c", null));
+  }
+
+  @Test
+  void testSnapshotOfImmutableValue() {
+    assertThat(ImmutableSnapshot.of((Object) null)).isNull();
+    assertThat(ImmutableSnapshot.of("abc")).isEqualTo("abc");
+
+    Set<String> set = Set.of("abc");
+    assertThat(ImmutableSnapshot.of(set)).containsExactly("abc");
+  }
+
+  @Test
+  void testSnapshotOfImmutableProxy() {
+    TestEntity original = new TestEntity(123);
+    TestEntity immutableProxy = ImmutableProxy.create(original);
+
+    TestEntity snapshot = ImmutableSnapshot.of(immutableProxy);
+    original.setNumber(456);
+
+    assertThat(immutableProxy.getNumber()).isEqualTo(456);
+    assertThat(snapshot.getNumber()).isEqualTo(123);
+  }
+
+  @Test
+  void testSnapshotOfSortedCollections() {
+    EntityWithSortedCollections original = new EntityWithSortedCollections();
+    original.getNames().addAll(List.of("b", "a"));
+    original.getEntitiesByNumber().put(2, new OtherTestEntity("two"));
+    original.getEntitiesByNumber().put(1, new OtherTestEntity("one"));
+    original.getHistory().add(new OtherTestEntity("first"));
+
+    EntityWithSortedCollections snapshot = ImmutableSnapshot.of(original);
+    original.getNames().add("c");
+    original.getEntitiesByNumber().clear();
+    original.getHistory().clear();
+
+    // the private copies are wrapped in immutable views instead of being copied again
+    assertThat(snapshot.getNames()).isInstanceOf(DeepImmutableNavigableSet.class);
+    assertThat(snapshot.getNames()).containsExactly("a", "b");
+    assertThat(snapshot.getEntitiesByNumber()).isInstanceOf(DeepImmutableNavigableMap.class);
+    assertThat(snapshot.getEntitiesByNumber()).containsOnlyKeys(1, 2);
+    assertThat(snapshot.getSortedEntitiesByNumber().get(1).getImmutableValue()).isEqualTo("one");
+    assertThat(snapshot.getHistory()).hasSize(1);
+    assertThat(snapshot.getPendingEntities().peek().getImmutableValue()).isEqualTo("first");
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> snapshot.getNames().add("d"));
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> snapshot.getEntitiesByNumber().get(2).setName("changed"))
+        .withMessage(ImmutableProxyTest.IMMUTABLE_EXCEPTION_MESSAGE);
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> snapshot.getHistory().poll());
+  }
+
+  @Test
+  void testSnapshotPreservesComparators() {
+    EntityWithComparators original = new EntityWithComparators();
+    original.getReversedNames().addAll(List.of("a", "c", "b"));
+    original.getVersions().addAll(List.of(new Version(2), new Version(10), new Version(1)));
+    original.getEntitiesByName().put("ccc", new OtherTestEntity("ccc"));
+    original.getEntitiesByName().put("a", new OtherTestEntity("a"));
+
+    EntityWithComparators snapshot = ImmutableSnapshot.of(original);
+    original.getReversedNames().clear();
+    original.getVersions().clear();
+    original.getEntitiesByName().clear();
+
+    assertThat(snapshot.getReversedNames()).containsExactly("c", "b", "a");
+    assertThat(snapshot.getVersions())
+        .extracting(Version::getNumber)
+        .containsExactly(10, 2, 1);
+    assertThat(snapshot.getVersions().first().getNumber()).isEqualTo(10);
+    assertThat(snapshot.getEntitiesByName().keySet()).containsExactly("a", "ccc");
+    assertThat(snapshot.getEntitiesByName().get("ccc").getImmutableValue()).isEqualTo("ccc");
+
+    List<SortedSet<String>> sortedSets =
+        ImmutableSnapshot.of(List.of(new TreeSet<>(Comparator.<String>reverseOrder())));
+    assertThat(sortedSets.get(0).comparator()).isEqualTo(Comparator.reverseOrder());
+  }
+
+  @Test
+  void testSnapshotOfSelfContainingList() {
+    List<Object> original = new ArrayList<>();
+    original.add("a");
+    original.add(original);
+
+    List<Object> snapshot = ImmutableSnapshot.of(original);
+
+    assertThat(snapshot).hasSize(2);
+    assertThat(snapshot.get(0)).isEqualTo("a");
+    assertThat(snapshot.get(1)).isSameAs(snapshot);
+  }
+
+  @Test
+  void testSnapshotOfQueues() {
+    Deque<OtherTestEntity> deque = new ArrayDeque<>(List.of(new OtherTestEntity("first")));
+    deque.add(new OtherTestEntity("second"));
+
+    Deque<OtherTestEntity> dequeSnapshot = ImmutableSnapshot.of(deque);
+    deque.clear();
+
+    assertThat(dequeSnapshot).isInstanceOf(DeepImmutableDeque.class).hasSize(2);
+    assertThat(dequeSnapshot.getLast().getImmutableValue()).isEqualTo("second");
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(dequeSnapshot::pollFirst);
+
+    Queue<Integer> queue = new PriorityQueue<>(List.of(3, 1, 2));
+    Queue<Integer> queueSnapshot = ImmutableSnapshot.of(queue);
+    queue.clear();
+
+    assertThat(queueSnapshot).isNotInstanceOf(Deque.class).hasSize(3);
+    assertThat(queueSnapshot.peek()).isEqualTo(1);
+    assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(queueSnapshot::poll);
+  }
+
+  @Test
+  void testSnapshotOfJdkClass() {
+    Date date = new Date(12345L);
+
+    Date snapshot = ImmutableSnapshot.of(date);
+    date.setTime(0L);
+
+    assertThat(snapshot.getTime()).isEqualTo(12345L);
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> snapshot.setTime(1L));
+
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ImmutableSnapshot.of(new StringBuilder("abc")))
+        .withMessage(
+            "Cannot create a snapshot of java.lang.StringBuilder:"
+                + " its fields are not accessible and it is not Cloneable");
+  }
+
+  @Test
+  void testSnapshotOfInnerClass() {
+    Inner original = new Inner();
+    original.setName("inner");
+
+    Inner snapshot = ImmutableSnapshot.of(original);
+    original.setName("changed");
+
+    assertThat(snapshot.getName()).isEqualTo("inner");
+  }
+
+  public class Inner {
+
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+  public static class EntityWithComparators {
+
+    private final TreeSet<String> reversedNames = new TreeSet<>(Comparator.reverseOrder());
+    private final TreeSet<Version> versions = new TreeSet<>(Comparator.reverseOrder());
+    private final TreeMap<String, OtherTestEntity> entitiesByName =
+        new TreeMap<>(Comparator.comparingInt(String::length));
+
+    public SortedSet<String> getReversedNames() {
+      return reversedNames;
+    }
+
+    public NavigableSet<Version> getVersions() {
+      return versions;
+    }
+
+    public SortedMap<String, OtherTestEntity> getEntitiesByName() {
+      return entitiesByName;
+    }
+  }
+
+  public static class Version implements Comparable<Version> {
+
+    private final int number;
+
+    public Version(int number) {
+      this.number = number;
+    }
+
+    public int getNumber() {
+      return number;
+    }
+
+    @Override
+    public int compareTo(Version other) {
+      return Integer.compare(number, other.number);
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package de.cronn.reflection.util.immutable;
+
+import java.util.Collections;
+import java.util.List;
+
+public class LateRegisteredValueHolder {
+
+  private final List<LateRegisteredValueType> values;
+
+  public LateRegisteredValueHolder(List<LateRegisteredValueType> values) {
+    this.values = Collections.unmodifiableList(values);
+  }
+
+  public List<LateRegisteredValueType> getValues() {
+    return values;
+  }
+}
@@ -0,0 +1,14 @@
+package de.cronn.reflection.util.immutable;
+
+public class LateRegisteredValueType {
+
+  private final String value;
+
+  public LateRegisteredValueType(String value) {
+    this.value = value;
+  }
+
+  public String getValue() {
+    return value;
+  }
+}
@@ -0,0 +1,16 @@
+package de.cronn.reflection.util.immutable;
+
+import java.math.BigDecimal;
+
+public class RegisteredValueType {
+
+  private final BigDecimal amount;
+
+  public RegisteredValueType(BigDecimal amount) {
+    this.amount = amount;
+  }
+
+  public BigDecimal getAmount() {
+    return amount;
+  }
+}
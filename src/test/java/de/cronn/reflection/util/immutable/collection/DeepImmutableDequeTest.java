@@ -0,0 +1,61 @@
+package de.cronn.reflection.util.immutable.collection;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.cronn.reflection.util.immutable.ImmutableProxy;
+import de.cronn.reflection.util.testclasses.EntityWithSortedCollections;
+import de.cronn.reflection.util.testclasses.OtherTestEntity;
+import java.util.Deque;
+import java.util.Queue;
+import org.junit.jupiter.api.Test;
+
+public class DeepImmutableDequeTest {
+
+  @Test
+  void testImmutableDequeFromGetter() {
+    EntityWithSortedCollections original = new EntityWithSortedCollections();
+    original.getHistory().add(new OtherTestEntity("a"));
+    original.getHistory().add(new OtherTestEntity("b"));
+
+    EntityWithSortedCollections immutableProxy = ImmutableProxy.create(original);
+    Deque<OtherTestEntity> history = immutableProxy.getHistory();
+
+    assertThat(history).isInstanceOf(DeepImmutableDeque.class).hasSize(2);
+    assertThat(history.getFirst().getImmutableValue()).isEqualTo("a");
+    assertThat(history.peekLast().getImmutableValue()).isEqualTo("b");
+    assertThat(history.descendingIterator().next()).isSameAs(history.getLast());
+    assertThat(ImmutableProxy.isImmutableProxy(history.element())).isTrue();
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(history::pop)
+        .withMessage("This deque is immutable");
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> history.offerFirst(new OtherTestEntity()))
+        .withMessage("This deque is immutable");
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(history::clear)
+        .withMessage("This deque is immutable");
+
+    assertThat(original.getHistory()).hasSize(2);
+  }
+
+  @Test
+  void testImmutableQueueFromGetter() {
+    EntityWithSortedCollections original = new EntityWithSortedCollections();
+    original.getHistory().add(new OtherTestEntity("a"));
+
+    EntityWithSortedCollections immutableProxy = ImmutableProxy.create(original);
+    Queue<OtherTestEntity> queue = immutableProxy.getPendingEntities();
+
+    assertThat(queue).isInstanceOf(DeepImmutableQueue.class);
+    assertThat(queue.peek().getImmutableValue()).isEqualTo("a");
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(queue::poll)
+        .withMessage("This queue is immutable");
+
+    assertThat(original.getHistory()).hasSize(1);
+  }
+}
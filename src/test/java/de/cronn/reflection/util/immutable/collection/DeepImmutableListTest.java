@@ -3,14 +3,25 @@ package de.cronn.reflection.util.immutable.collection;
 import static org.assertj.core.api.Assertions.*;
 
 import de.cronn.reflection.util.immutable.ImmutableProxy;
+import de.cronn.reflection.util.immutable.ImmutableProxyOption;
+import de.cronn.reflection.util.immutable.ImmutableProxyTest;
 import de.cronn.reflection.util.testclasses.OtherTestEntity;
 import de.cronn.reflection.util.testclasses.TestEntity;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.LinkedList;
 import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 
 public class DeepImmutableListTest {
 
@@ -132,4 +143,164 @@ public class DeepImmutableListTest {
         .isEqualTo(immutableList.get(1).getName());
     assertThat(immutableList.listIterator(2).hasNext()).isFalse();
   }
+
+  @Test
+  void testSubListSharesElementCache() {
+    List<OtherTestEntity> immutableList =
+        ImmutableProxy.create(Arrays.asList(new OtherTestEntity("a"), new OtherTestEntity("b")));
+
+    assertThat(immutableList.subList(1, 2).get(0)).isSameAs(immutableList.get(1));
+    assertThat(immutableList.subList(0, 2).subList(1, 2).get(0)).isSameAs(immutableList.get(1));
+  }
+
+  @Test
+  void testNoElementCache() {
+    List<OtherTestEntity> immutableList =
+        ImmutableProxy.create(
+            Arrays.asList(new OtherTestEntity("a"), new OtherTestEntity("b")),
+            ImmutableProxyOption.NO_ELEMENT_CACHE);
+
+    assertThat(immutableList.get(0)).isNotSameAs(immutableList.get(0));
+    assertThat(immutableList.get(0).getImmutableValue()).isEqualTo("a");
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> immutableList.get(0).setName("new name"))
+        .withMessage(ImmutableProxyTest.IMMUTABLE_EXCEPTION_MESSAGE);
+  }
+
+  @Test
+  void testRandomAccess() {
+    List<OtherTestEntity> arrayList = new ArrayList<>(List.of(new OtherTestEntity("a")));
+    List<OtherTestEntity> linkedList = new LinkedList<>(arrayList);
+
+    assertThat(ImmutableProxy.create(arrayList)).isInstanceOf(RandomAccess.class);
+    assertThat(ImmutableProxy.create(arrayList).subList(0, 1)).isInstanceOf(RandomAccess.class);
+    assertThat(ImmutableProxy.create(linkedList)).isNotInstanceOf(RandomAccess.class);
+    assertThat(ImmutableProxy.create(linkedList).subList(0, 1))
+        .isNotInstanceOf(RandomAccess.class);
+    assertThat(DeepImmutableList.of(1)).isInstanceOf(RandomAccess.class);
+  }
+
+  @Test
+  void testBulkOperations() {
+    List<OtherTestEntity> immutableList =
+        ImmutableProxy.create(Arrays.asList(new OtherTestEntity("a"), new OtherTestEntity("b")));
+
+    assertThat(immutableList.toArray()).containsExactly(immutableList.get(0), immutableList.get(1));
+    assertThat(immutableList.toArray(new OtherTestEntity[0]))
+        .containsExactly(immutableList.get(0), immutableList.get(1));
+    assertThat(immutableList.toArray(OtherTestEntity[]::new))
+        .containsExactly(immutableList.get(0), immutableList.get(1));
+
+    OtherTestEntity[] largerArray = new OtherTestEntity[3];
+    assertThat(immutableList.toArray(largerArray))
+        .isSameAs(largerArray)
+        .containsExactly(immutableList.get(0), immutableList.get(1), null);
+
+    List<OtherTestEntity> visitedElements = new ArrayList<>();
+    immutableList.forEach(visitedElements::add);
+    assertThat(visitedElements).containsExactly(immutableList.get(0), immutableList.get(1));
+  }
+
+  @Test
+  void testSpliterator() {
+    List<OtherTestEntity> original = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      original.add(new OtherTestEntity(String.valueOf(i)));
+    }
+    List<OtherTestEntity> immutableList = ImmutableProxy.create(original);
+
+    Spliterator<OtherTestEntity> spliterator = immutableList.spliterator();
+    assertThat(spliterator.hasCharacteristics(Spliterator.SIZED)).isTrue();
+    assertThat(spliterator.hasCharacteristics(Spliterator.SUBSIZED)).isTrue();
+    assertThat(spliterator.hasCharacteristics(Spliterator.ORDERED)).isTrue();
+    assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(100);
+
+    Spliterator<OtherTestEntity> prefix = spliterator.trySplit();
+    assertThat(prefix).isNotNull();
+    assertThat(prefix.estimateSize() + spliterator.estimateSize()).isEqualTo(100);
+    assertThat(prefix.tryAdvance(entity -> assertThat(entity).isSameAs(immutableList.get(0))))
+        .isTrue();
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> spliterator.forEachRemaining(entity -> entity.setName("new name")))
+        .withMessage(ImmutableProxyTest.IMMUTABLE_EXCEPTION_MESSAGE);
+  }
+
+  @Test
+  void testParallelStream() {
+    List<OtherTestEntity> original = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      original.add(new OtherTestEntity(String.valueOf(i)));
+    }
+    List<OtherTestEntity> immutableList = ImmutableProxy.create(original);
+
+    List<OtherTestEntity> elements = immutableList.parallelStream().toList();
+
+    assertThat(elements).hasSize(1000);
+    assertThat(elements).allMatch(ImmutableProxy::isImmutableProxy);
+    assertThat(elements.get(999)).isSameAs(immutableList.get(999));
+    assertThat(immutableList.parallelStream().mapToInt(e -> e.getImmutableValue().length()).sum())
+        .isEqualTo(2890);
+  }
+
+  @Test
+  void testForEachReadOnly() {
+    List<Object> original =
+        Arrays.asList(
+            new OtherTestEntity("a"), null, "plain", new OtherTestEntity("b"), new TestEntity(3));
+    DeepImmutableList<Object> immutableList = new DeepImmutableList<>(original, null);
+
+    List<Object> visitedElements = new ArrayList<>();
+    List<String> values = new ArrayList<>();
+    immutableList.forEachReadOnly(
+        element -> {
+          visitedElements.add(element);
+          if (element instanceof OtherTestEntity otherTestEntity) {
+            values.add(otherTestEntity.getImmutableValue());
+            assertThat(ImmutableProxy.isImmutableProxy(otherTestEntity)).isTrue();
+            assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> otherTestEntity.setName("new name"))
+                .withMessage(ImmutableProxyTest.IMMUTABLE_EXCEPTION_MESSAGE);
+          } else if (element instanceof TestEntity testEntity) {
+            values.add(String.valueOf(testEntity.getNumber()));
+          }
+        });
+
+    assertThat(values).containsExactly("a", "b", "3");
+    assertThat(visitedElements.get(0)).isSameAs(visitedElements.get(3));
+    assertThat(visitedElements.get(1)).isNull();
+    assertThat(visitedElements.get(2)).isEqualTo("plain");
+    assertThat(immutableList.immutableProxyCache.size()).isZero();
+  }
+
+  @Test
+  @Timeout(30)
+  void testConcurrentIteration() throws Exception {
+    List<OtherTestEntity> original = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      original.add(new OtherTestEntity(String.valueOf(i)));
+    }
+    List<OtherTestEntity> immutableList = ImmutableProxy.create(original);
+
+    int numThreads = 8;
+    ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+    try {
+      List<Future<List<OtherTestEntity>>> futures = new ArrayList<>();
+      for (int i = 0; i < numThreads; i++) {
+        futures.add(executorService.submit(() -> new ArrayList<>(immutableList)));
+      }
+      for (Future<List<OtherTestEntity>> future : futures) {
+        List<OtherTestEntity> elements = future.get();
+        assertThat(elements).hasSameSizeAs(original);
+        for (int i = 0; i < elements.size(); i++) {
+          assertThat(elements.get(i)).isSameAs(immutableList.get(i));
+          assertThat(elements.get(i).getImmutableValue()).isEqualTo(String.valueOf(i));
+        }
+      }
+    } finally {
+      executorService.shutdown();
+      executorService.awaitTermination(30, TimeUnit.SECONDS);
+    }
+  }
 }
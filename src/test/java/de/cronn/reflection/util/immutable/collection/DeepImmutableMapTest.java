@@ -79,4 +79,32 @@ public class DeepImmutableMapTest {
         .isThrownBy(() -> immutableValue.setTime(456L))
         .withMessage(ImmutableProxyTest.IMMUTABLE_EXCEPTION_MESSAGE);
   }
+
+  @Test
+  void testBulkOperations() {
+    Map<String, OtherTestEntity> original = new LinkedHashMap<>();
+    original.put("a", new OtherTestEntity("a"));
+    original.put("b", null);
+
+    Map<String, OtherTestEntity> immutableMap = ImmutableProxy.create(original);
+
+    assertThat(immutableMap).hasSize(2);
+    assertThat(immutableMap.isEmpty()).isFalse();
+    assertThat(immutableMap.containsKey("a")).isTrue();
+    assertThat(immutableMap.containsKey("c")).isFalse();
+    assertThat(immutableMap.containsValue(original.get("a"))).isTrue();
+
+    OtherTestEntity defaultValue = new OtherTestEntity("default");
+    assertThat(immutableMap.getOrDefault("a", defaultValue)).isSameAs(immutableMap.get("a"));
+    assertThat(immutableMap.getOrDefault("b", defaultValue)).isNull();
+    assertThat(immutableMap.getOrDefault("c", defaultValue)).isSameAs(defaultValue);
+
+    Map<String, OtherTestEntity> visitedEntries = new LinkedHashMap<>();
+    immutableMap.forEach(visitedEntries::put);
+    assertThat(visitedEntries).containsExactly(entry("a", immutableMap.get("a")), entry("b", null));
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> immutableMap.forEach((key, value) -> value.setName("new name")))
+        .withMessage(ImmutableProxyTest.IMMUTABLE_EXCEPTION_MESSAGE);
+  }
 }
@@ -0,0 +1,79 @@
+package de.cronn.reflection.util.immutable.collection;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.cronn.reflection.util.immutable.ImmutableProxy;
+import de.cronn.reflection.util.immutable.ImmutableProxyTest;
+import de.cronn.reflection.util.testclasses.EntityWithSortedCollections;
+import de.cronn.reflection.util.testclasses.OtherTestEntity;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import org.junit.jupiter.api.Test;
+
+public class DeepImmutableNavigableMapTest {
+
+  @Test
+  void testImmutableNavigableMapFromGetter() {
+    EntityWithSortedCollections original = new EntityWithSortedCollections();
+    original.getEntitiesByNumber().put(3, new OtherTestEntity("c"));
+    original.getEntitiesByNumber().put(1, new OtherTestEntity("a"));
+    original.getEntitiesByNumber().put(2, new OtherTestEntity("b"));
+
+    EntityWithSortedCollections immutableProxy = ImmutableProxy.create(original);
+    NavigableMap<Integer, OtherTestEntity> map = immutableProxy.getEntitiesByNumber();
+
+    assertThat(map).isInstanceOf(DeepImmutableNavigableMap.class);
+    assertThat(map.keySet()).containsExactly(1, 2, 3);
+    assertThat(map.firstKey()).isEqualTo(1);
+    assertThat(map.lastEntry().getValue().getImmutableValue()).isEqualTo("c");
+    assertThat(map.floorKey(5)).isEqualTo(3);
+    assertThat(map.higherEntry(3)).isNull();
+    assertThat(map.descendingMap().keySet()).containsExactly(3, 2, 1);
+    assertThat(map.descendingKeySet()).containsExactly(3, 2, 1);
+    assertThat(map.headMap(2, true).keySet()).containsExactly(1, 2);
+    assertThat(map.tailMap(2).keySet()).containsExactly(2, 3);
+
+    OtherTestEntity value = map.get(1);
+    assertThat(ImmutableProxy.isImmutableProxy(value)).isTrue();
+    assertThat(map.firstEntry().getValue()).isSameAs(value);
+    assertThat(map.subMap(1, 3).get(1)).isSameAs(value);
+
+    Entry<Integer, OtherTestEntity> ceilingEntry = map.ceilingEntry(2);
+    assertThat(ceilingEntry.getKey()).isEqualTo(2);
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> ceilingEntry.setValue(null));
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> value.setName("new name"))
+        .withMessage(ImmutableProxyTest.IMMUTABLE_EXCEPTION_MESSAGE);
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(map::pollFirstEntry)
+        .withMessage("This map is immutable");
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> map.headMap(2).put(0, null))
+        .withMessage("This map is immutable");
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> map.navigableKeySet().pollLast())
+        .withMessage("This set is immutable");
+  }
+
+  @Test
+  void testImmutableSortedMapFromGetter() {
+    EntityWithSortedCollections original = new EntityWithSortedCollections();
+    original.getEntitiesByNumber().put(2, new OtherTestEntity("b"));
+    original.getEntitiesByNumber().put(1, new OtherTestEntity("a"));
+
+    EntityWithSortedCollections immutableProxy = ImmutableProxy.create(original);
+    SortedMap<Integer, OtherTestEntity> map = immutableProxy.getSortedEntitiesByNumber();
+
+    assertThat(map.keySet()).containsExactly(1, 2);
+    assertThat(map.headMap(2).keySet()).containsExactly(1);
+
+    original.getEntitiesByNumber().put(0, new OtherTestEntity("z"));
+    assertThat(map.firstKey()).isEqualTo(0);
+  }
+}
@@ -0,0 +1,81 @@
+package de.cronn.reflection.util.immutable.collection;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.cronn.reflection.util.immutable.ImmutableProxy;
+import de.cronn.reflection.util.immutable.ImmutableProxyTest;
+import de.cronn.reflection.util.testclasses.EntityWithSortedCollections;
+import de.cronn.reflection.util.testclasses.TestEntity;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+public class DeepImmutableNavigableSetTest {
+
+  @Test
+  void testImmutableSortedSetFromGetter() {
+    EntityWithSortedCollections original = new EntityWithSortedCollections();
+    original.getNames().add("b");
+    original.getNames().add("a");
+
+    EntityWithSortedCollections immutableProxy = ImmutableProxy.create(original);
+    SortedSet<String> names = immutableProxy.getNames();
+
+    assertThat(names).isInstanceOf(DeepImmutableNavigableSet.class).containsExactly("a", "b");
+    assertThat(names.first()).isEqualTo("a");
+    assertThat(names.last()).isEqualTo("b");
+    assertThat(names.headSet("b")).containsExactly("a");
+
+    original.getNames().add("c");
+    assertThat(names).containsExactly("a", "b", "c");
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> names.add("d"))
+        .withMessage("This set is immutable");
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> names.tailSet("b").clear())
+        .withMessage("This set is immutable");
+  }
+
+  @Test
+  void testNavigation() {
+    NavigableSet<TestEntity> original = new TreeSet<>(Comparator.comparing(TestEntity::getNumber));
+    original.add(new TestEntity(1));
+    original.add(new TestEntity(2));
+    original.add(new TestEntity(3));
+
+    NavigableSet<TestEntity> immutableSet = ImmutableProxy.create(original);
+
+    assertThat(immutableSet.comparator()).isSameAs(original.comparator());
+    assertThat(immutableSet.first().getNumber()).isEqualTo(1);
+    assertThat(immutableSet.ceiling(new TestEntity(2)).getNumber()).isEqualTo(2);
+    assertThat(immutableSet.higher(new TestEntity(3))).isNull();
+    assertThat(immutableSet.descendingSet())
+        .extracting(TestEntity::getNumber)
+        .containsExactly(3, 2, 1);
+    assertThat(immutableSet.subSet(new TestEntity(1), false, new TestEntity(3), true))
+        .extracting(TestEntity::getNumber)
+        .containsExactly(2, 3);
+
+    TestEntity first = immutableSet.first();
+    assertThat(ImmutableProxy.isImmutableProxy(first)).isTrue();
+    assertThat(immutableSet.iterator().next()).isSameAs(first);
+    assertThat(immutableSet.headSet(new TestEntity(2)).first()).isSameAs(first);
+    assertThat(immutableSet.descendingIterator().next().getNumber()).isEqualTo(3);
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> first.setNumber(12))
+        .withMessage(ImmutableProxyTest.IMMUTABLE_EXCEPTION_MESSAGE);
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(immutableSet::pollFirst)
+        .withMessage("This set is immutable");
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> immutableSet.descendingIterator().remove())
+        .withMessage("This set is immutable");
+  }
+}
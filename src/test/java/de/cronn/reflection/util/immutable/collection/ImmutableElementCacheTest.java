@@ -0,0 +1,114 @@
+package de.cronn.reflection.util.immutable.collection;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.cronn.reflection.util.immutable.ImmutableProxyOption;
+import de.cronn.reflection.util.testclasses.OtherTestEntity;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.jupiter.api.Test;
+
+class ImmutableElementCacheTest {
+
+  @Test
+  void testFullCache() {
+    ImmutableElementCache<Object> cache = ImmutableElementCache.create(null);
+    Object element = new Object();
+
+    Object first = cache.get(element, e -> new Object());
+    Object second = cache.get(element, e -> new Object());
+
+    assertThat(first).isNotSameAs(element).isSameAs(second);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void testImmutableElementsAreNotCached() {
+    ImmutableElementCache<Object> cache = ImmutableElementCache.create(null);
+
+    assertThat(cache.get("abc", e -> e)).isEqualTo("abc");
+    assertThat(cache.get(null, e -> new Object())).isNull();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void testNoCache() {
+    ImmutableElementCache<Object> cache =
+        ImmutableElementCache.create(
+            new ImmutableProxyOption[] {ImmutableProxyOption.NO_ELEMENT_CACHE});
+    Object element = new Object();
+
+    assertThat(cache.get(element, e -> new Object()))
+        .isNotSameAs(cache.get(element, e -> new Object()));
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void testWeakCache() {
+    ImmutableElementCache<Object> cache =
+        ImmutableElementCache.create(
+            new ImmutableProxyOption[] {ImmutableProxyOption.WEAK_ELEMENT_CACHE});
+    Object element = new Object();
+
+    Object first = cache.get(element, e -> new Object());
+    Object second = cache.get(element, e -> new Object());
+
+    assertThat(first).isSameAs(second);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void testBoundedCache() {
+    ImmutableElementCache<Object> cache =
+        ImmutableElementCache.create(
+            new ImmutableProxyOption[] {ImmutableProxyOption.BOUNDED_ELEMENT_CACHE});
+    List<Object> elements = new ArrayList<>();
+    for (int i = 0; i < ImmutableElementCache.BOUNDED_CACHE_CAPACITY * 2; i++) {
+      Object element = new Object();
+      elements.add(element);
+      cache.get(element, e -> new Object());
+    }
+
+    assertThat(cache.size()).isEqualTo(ImmutableElementCache.BOUNDED_CACHE_CAPACITY);
+
+    Object lastElement = elements.get(elements.size() - 1);
+    assertThat(cache.get(lastElement, e -> new Object()))
+        .isSameAs(cache.get(lastElement, e -> new Object()));
+  }
+
+  @Test
+  void testBoundedCache_EvictsLeastRecentlyUsedEntry() {
+    ImmutableElementCache<Object> cache =
+        ImmutableElementCache.create(
+            new ImmutableProxyOption[] {ImmutableProxyOption.BOUNDED_ELEMENT_CACHE});
+    Object firstElement = new Object();
+    Object firstImmutableElement = cache.get(firstElement, e -> new Object());
+    Object secondElement = new Object();
+    Object secondImmutableElement = cache.get(secondElement, e -> new Object());
+    for (int i = 2; i < ImmutableElementCache.BOUNDED_CACHE_CAPACITY; i++) {
+      cache.get(new Object(), e -> new Object());
+    }
+
+    // accessing the first element again must protect it from eviction
+    assertThat(cache.get(firstElement, e -> new Object())).isSameAs(firstImmutableElement);
+    cache.get(new Object(), e -> new Object());
+
+    assertThat(cache.size()).isEqualTo(ImmutableElementCache.BOUNDED_CACHE_CAPACITY);
+    assertThat(cache.get(firstElement, e -> new Object())).isSameAs(firstImmutableElement);
+    assertThat(cache.get(secondElement, e -> new Object())).isNotSameAs(secondImmutableElement);
+  }
+
+  @Test
+  void testSerializedCacheIsEmpty() {
+    ImmutableElementCache<Object> cache =
+        ImmutableElementCache.create(
+            new ImmutableProxyOption[] {ImmutableProxyOption.BOUNDED_ELEMENT_CACHE});
+    cache.get(new OtherTestEntity(), e -> new Object());
+
+    ImmutableElementCache<Object> clone = SerializationUtils.clone(cache);
+
+    assertThat(clone).isNotSameAs(cache).isInstanceOf(cache.getClass());
+    assertThat(clone.size()).isZero();
+  }
+}
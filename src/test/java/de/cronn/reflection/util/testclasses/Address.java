@@ -0,0 +1,23 @@
+package de.cronn.reflection.util.testclasses;
+
+public class Address {
+
+  private String street;
+  private City city;
+
+  public String getStreet() {
+    return street;
+  }
+
+  public void setStreet(String street) {
+    this.street = street;
+  }
+
+  public City getCity() {
+    return city;
+  }
+
+  public void setCity(City city) {
+    this.city = city;
+  }
+}
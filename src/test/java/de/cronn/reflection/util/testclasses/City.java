@@ -0,0 +1,23 @@
+package de.cronn.reflection.util.testclasses;
+
+public class City {
+
+  private String name;
+  private String zip;
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getZip() {
+    return zip;
+  }
+
+  public void setZip(String zip) {
+    this.zip = zip;
+  }
+}
@@ -0,0 +1,23 @@
+package de.cronn.reflection.util.testclasses;
+
+public class Customer {
+
+  private String name;
+  private Address address;
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public Address getAddress() {
+    return address;
+  }
+
+  public void setAddress(Address address) {
+    this.address = address;
+  }
+}
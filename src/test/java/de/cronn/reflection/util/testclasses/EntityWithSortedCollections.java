@@ -0,0 +1,37 @@
+package de.cronn.reflection.util.testclasses;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+public class EntityWithSortedCollections {
+
+  private final TreeSet<String> names = new TreeSet<>();
+  private final TreeMap<Integer, OtherTestEntity> entitiesByNumber = new TreeMap<>();
+  private final ArrayDeque<OtherTestEntity> history = new ArrayDeque<>();
+
+  public SortedSet<String> getNames() {
+    return names;
+  }
+
+  public NavigableMap<Integer, OtherTestEntity> getEntitiesByNumber() {
+    return entitiesByNumber;
+  }
+
+  public SortedMap<Integer, OtherTestEntity> getSortedEntitiesByNumber() {
+    return entitiesByNumber;
+  }
+
+  public Deque<OtherTestEntity> getHistory() {
+    return history;
+  }
+
+  public Queue<OtherTestEntity> getPendingEntities() {
+    return history;
+  }
+}